@@ -0,0 +1,186 @@
+// src/main/java/com/ems/dao/AsyncEmployeeDAO.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking facade over an EmployeeDAO (including CachingEmployeeDAO).
+ *
+ * Every call returns a CompletableFuture. Failures complete it exceptionally with a
+ * DataAccessException (DuplicateEmailException, TransientDataAccessException, ...) instead of
+ * being printed and swallowed. Work runs on virtual threads when the JVM has them (Java 21+),
+ * otherwise on a fixed pool of platform threads. At most maxInFlight calls are queued or running
+ * at once; beyond that, callers block until one finishes, so a burst of callers cannot pile up
+ * unbounded work behind the connection pool.
+ */
+public class AsyncEmployeeDAO implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private final EmployeeDAO dao;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    public AsyncEmployeeDAO(EmployeeDAO dao) {
+        this(dao, Integer.getInteger("ems.async.maxInFlight", DEFAULT_MAX_IN_FLIGHT));
+    }
+
+    public AsyncEmployeeDAO(EmployeeDAO dao, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight calls must be at least 1: " + maxInFlight);
+        }
+        this.dao = dao;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight, true);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadExecutor(maxInFlight);
+    }
+
+    // Looked up reflectively so the code still compiles and runs on Java 11-20
+    private static ExecutorService newVirtualThreadExecutor() {
+        if ("false".equalsIgnoreCase(System.getProperty("ems.async.virtualThreads"))) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Platform threads are expensive, so only enough to keep the connection pool busy
+    private static ExecutorService newPlatformThreadExecutor(int maxInFlight) {
+        int threads = Math.min(maxInFlight, Math.max(8, Runtime.getRuntime().availableProcessors() * 2));
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "ems-async-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --- CREATE ---
+    public CompletableFuture<Boolean> addEmployee(Employee employee) {
+        return submit("addEmployee", () -> dao.insertEmployee(employee));
+    }
+
+    // --- READ ---
+    public CompletableFuture<Optional<Employee>> getEmployeeById(int id) {
+        return submit("getEmployeeById", () -> Optional.ofNullable(dao.selectEmployeeById(id)));
+    }
+
+    public CompletableFuture<Optional<Employee>> getEmployeeByEmail(String email) {
+        return submit("getEmployeeByEmail", () -> Optional.ofNullable(dao.selectEmployeeByEmail(email)));
+    }
+
+    // One IN (...) query rather than one future per id; see EmployeeDAO.getEmployeesByIds
+    public CompletableFuture<List<Employee>> getEmployeesByIds(int... ids) {
+        int[] copy = ids.clone();
+        return submit("getEmployeesByIds", () -> dao.selectEmployeesByIds(copy));
+    }
+
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return submit("getAllEmployees", dao::selectAllEmployees);
+    }
+
+    public CompletableFuture<List<Employee>> findEmployees(EmployeeCriteria criteria) {
+        return submit("findEmployees", () -> dao.selectEmployees(criteria));
+    }
+
+    public CompletableFuture<List<Employee>> searchEmployees(String query, int limit) {
+        return submit("searchEmployees", () -> dao.selectSearch(query, limit));
+    }
+
+    public CompletableFuture<Integer> getEmployeeCount() {
+        return submit("getEmployeeCount", dao::countEmployees);
+    }
+
+    // --- UPDATE / DELETE ---
+    // See EmployeeDAO.updateEmployeeChanges; NOT_FOUND and CONFLICT complete normally
+    public CompletableFuture<UpdateResult> updateEmployee(Employee employee) {
+        return submit("updateEmployee", () -> dao.updateEmployeeRow(employee));
+    }
+
+    public CompletableFuture<Boolean> deleteEmployee(int id) {
+        return submit("deleteEmployee", () -> dao.deleteEmployeeRow(id));
+    }
+
+    // --- Executor ---
+    private <T> CompletableFuture<T> submit(String operation, SqlCall<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            inFlight.acquire(); // Backpressure: blocks while maxInFlight calls are outstanding
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+        try {
+            executor.execute(() -> run(operation, work, future));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void run(String operation, SqlCall<T> work, CompletableFuture<T> future) {
+        T result = null;
+        Throwable failure = null;
+        try {
+            result = work.call();
+        } catch (SQLException e) {
+            failure = DataAccessException.translate(operation, e);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            // Released before completing, so dependent stages that call back in cannot starve on permits
+            inFlight.release();
+        }
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    // Stops accepting calls and waits briefly for outstanding ones
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// src/jmh/java/com/ems/bench/AsyncEmployeeDAOBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.AsyncEmployeeDAO;
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for AsyncEmployeeDAO: each invocation resolves `callers` random IDs, either one
+ * blocking call after another, as that many concurrent async callers, or as one IN (...) query.
+ * Scores are the time to resolve the whole set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncEmployeeDAOBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"100", "500"})
+    public int callers;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+    private AsyncEmployeeDAO asyncDao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(ROWS);
+        dao = new EmployeeDAO();
+        asyncDao = new AsyncEmployeeDAO(dao);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        asyncDao.close();
+        database.close();
+    }
+
+    private int[] randomIds() {
+        int[] ids = new int[callers];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + ThreadLocalRandom.current().nextInt(ROWS);
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public int sequentialBlocking() {
+        int found = 0;
+        for (int id : randomIds()) {
+            if (dao.getEmployeeById(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int concurrentAsyncCallers() {
+        int[] ids = randomIds();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<Optional<Employee>>[] futures = new CompletableFuture[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            futures[i] = asyncDao.getEmployeeById(ids[i]);
+        }
+        CompletableFuture.allOf(futures).join();
+        int found = 0;
+        for (CompletableFuture<Optional<Employee>> future : futures) {
+            if (future.join().isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<Employee> singleInQuery() {
+        return asyncDao.getEmployeesByIds(randomIds()).join();
+    }
+}
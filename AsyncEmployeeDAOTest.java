@@ -0,0 +1,224 @@
+// src/test/java/com/ems/dao/AsyncEmployeeDAOTest.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Backpressure and error typing of AsyncEmployeeDAO: once maxInFlight calls are outstanding,
+ * further callers wait for a permit instead of failing, every future completes, and failures
+ * arrive as the DataAccessException subclass translate() picks while missing rows are results.
+ */
+class AsyncEmployeeDAOTest {
+
+    @TempDir
+    Path dir;
+
+    private EmployeeDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("async.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        dao = new EmployeeDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void callersBlockWhileTheSemaphoreIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        EmployeeDAO blocking = new EmployeeDAO() {
+            @Override
+            int countEmployees() throws SQLException {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.countEmployees();
+            }
+        };
+        try (AsyncEmployeeDAO async = new AsyncEmployeeDAO(blocking, 2)) {
+            CompletableFuture<Integer> first = async.getEmployeeCount();
+            CompletableFuture<Integer> second = async.getEmployeeCount();
+            assertTrue(started.await(10, TimeUnit.SECONDS), "both permitted calls are running");
+            assertEquals(2, async.getInFlight());
+
+            AtomicReference<CompletableFuture<Integer>> third = new AtomicReference<>();
+            Thread caller = new Thread(() -> third.set(async.getEmployeeCount()), "saturated-caller");
+            caller.start();
+            waitUntilWaiting(caller);
+            assertNull(third.get(), "the third call has not been accepted yet");
+            assertFalse(first.isDone() || second.isDone());
+
+            release.countDown();
+            caller.join(10_000);
+            assertFalse(caller.isAlive(), "the blocked caller got a permit");
+            assertEquals(0, first.get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(0, second.get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(0, third.get().get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(0, async.getInFlight());
+        }
+    }
+
+    @Test
+    void everyFutureCompletesUnderLoad() throws Exception {
+        int callers = 16;
+        int callsPerCaller = 25;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        EmployeeDAO counting = new EmployeeDAO() {
+            @Override
+            boolean insertEmployee(Employee employee) throws SQLException {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return super.insertEmployee(employee);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+        try (AsyncEmployeeDAO async = new AsyncEmployeeDAO(counting, 4)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                int caller = c;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < callsPerCaller; i++) {
+                        CompletableFuture<Boolean> future = async.addEmployee(employee("c" + caller + "-" + i + "@example.com"));
+                        synchronized (futures) {
+                            futures.add(future);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join(60_000);
+                assertFalse(thread.isAlive());
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+            assertEquals(callers * callsPerCaller, futures.size());
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.join());
+            }
+            assertTrue(maxRunning.get() <= 4, "at most maxInFlight calls ran at once: " + maxRunning.get());
+            assertEquals(0, async.getInFlight());
+            assertEquals(callers * callsPerCaller, async.getEmployeeCount().get(10, TimeUnit.SECONDS).intValue());
+        }
+    }
+
+    @Test
+    void constraintViolationsCompleteWithTypedExceptions() throws Exception {
+        try (AsyncEmployeeDAO async = new AsyncEmployeeDAO(dao, 2)) {
+            assertTrue(async.addEmployee(employee("taken@example.com")).get(10, TimeUnit.SECONDS));
+
+            DataAccessException duplicate = failure(async.addEmployee(employee("taken@example.com")));
+            assertInstanceOf(DuplicateEmailException.class, duplicate);
+            assertEquals(19, duplicate.getErrorCode() & 0xFF, "SQLITE_CONSTRAINT");
+            assertTrue(duplicate.getMessage().startsWith("addEmployee failed: "), duplicate.getMessage());
+
+            Employee taken = async.getEmployeeByEmail("taken@example.com").get(10, TimeUnit.SECONDS).get();
+            Employee other = employee("other@example.com");
+            assertTrue(async.addEmployee(other).get(10, TimeUnit.SECONDS));
+            other.setEmail(taken.getEmail());
+            assertInstanceOf(DuplicateEmailException.class, failure(async.updateEmployee(other)));
+
+            // A NOT NULL violation is a constraint failure too, but not a duplicate email
+            Employee incomplete = employee("incomplete@example.com");
+            incomplete.setJobTitle(null);
+            DataAccessException notNull = failure(async.addEmployee(incomplete));
+            assertSame(DataAccessException.class, notNull.getClass());
+            assertEquals(19, notNull.getErrorCode() & 0xFF, "SQLITE_CONSTRAINT");
+        }
+    }
+
+    @Test
+    void missingRowsAreResultsNotFailures() throws Exception {
+        try (AsyncEmployeeDAO async = new AsyncEmployeeDAO(dao, 2)) {
+            assertEquals(Optional.empty(), async.getEmployeeById(404).get(10, TimeUnit.SECONDS));
+            assertEquals(Optional.empty(), async.getEmployeeByEmail("nobody@example.com").get(10, TimeUnit.SECONDS));
+            assertTrue(async.getEmployeesByIds(404, 405).get(10, TimeUnit.SECONDS).isEmpty());
+            assertFalse(async.deleteEmployee(404).get(10, TimeUnit.SECONDS));
+
+            Employee ghost = employee("ghost@example.com");
+            ghost.setId(404);
+            assertEquals(UpdateResult.NOT_FOUND, async.updateEmployee(ghost).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void translatePicksTheMostSpecificType() {
+        SQLException duplicate = new SQLException("[SQLITE_CONSTRAINT_UNIQUE] UNIQUE constraint failed: employees.email", null, 2067);
+        assertInstanceOf(DuplicateEmailException.class, DataAccessException.translate("op", duplicate));
+
+        SQLException check = new SQLException("[SQLITE_CONSTRAINT_NOTNULL] NOT NULL constraint failed: employees.salary", null, 1299);
+        assertSame(DataAccessException.class, DataAccessException.translate("op", check).getClass());
+
+        for (int code : new int[] {5, 6, 517, 262}) { // BUSY, LOCKED, BUSY_SNAPSHOT, LOCKED_SHAREDCACHE
+            SQLException busy = new SQLException("database is busy", null, code);
+            assertInstanceOf(TransientDataAccessException.class, DataAccessException.translate("op", busy), "code " + code);
+        }
+        assertInstanceOf(TransientDataAccessException.class,
+                         DataAccessException.translate("op", new SQLTimeoutException("no connection available")));
+
+        SQLException missingTable = new SQLException("[SQLITE_ERROR] no such table: employees", null, 1);
+        DataAccessException generic = DataAccessException.translate("getAllEmployees", missingTable);
+        assertSame(DataAccessException.class, generic.getClass());
+        assertSame(missingTable, generic.getCause());
+        assertEquals("getAllEmployees failed: " + missingTable.getMessage(), generic.getMessage());
+    }
+
+    private static DataAccessException failure(CompletableFuture<?> future) throws Exception {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return assertInstanceOf(DataAccessException.class, e.getCause());
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState(), "the caller is parked on the semaphore");
+    }
+
+    private static Employee employee(String email) {
+        return new Employee("Asy", "Nc", email, null, LocalDate.of(2022, 8, 1), "Analyst", 55_000);
+    }
+}
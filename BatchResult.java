@@ -0,0 +1,77 @@
+// src/main/java/com/ems/dao/BatchResult.java
+package com.ems.dao;
+
+/**
+ * Per-row outcome of a bulk insert or update. Row indexes follow the
+ * iteration order of the collection handed to the DAO.
+ */
+public class BatchResult {
+
+    public enum Outcome {
+        INSERTED,
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT,        // Update of a row changed since the employee's version was read
+        DUPLICATE_EMAIL,
+        FAILED
+    }
+
+    private final Outcome[] outcomes;
+    private final int[] ids;
+    private final String[] messages;
+
+    BatchResult(int size) {
+        this.outcomes = new Outcome[size];
+        this.ids = new int[size];
+        this.messages = new String[size];
+    }
+
+    void succeeded(int row, Outcome outcome, int id) {
+        outcomes[row] = outcome;
+        ids[row] = id;
+    }
+
+    void failed(int row, Outcome outcome, String message) {
+        outcomes[row] = outcome;
+        messages[row] = message;
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+
+    public Outcome getOutcome(int row) {
+        return outcomes[row];
+    }
+
+    public boolean isSuccess(int row) {
+        return outcomes[row] == Outcome.INSERTED || outcomes[row] == Outcome.UPDATED;
+    }
+
+    // Generated (insert) or targeted (update) ID, 0 if the row failed
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    // Database error for a failed row, null otherwise
+    public String getMessage(int row) {
+        return messages[row];
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            if (isSuccess(i)) count++;
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return outcomes.length - getSuccessCount();
+    }
+
+    @Override
+    public String toString() {
+        return "Rows: " + size() + ", Succeeded: " + getSuccessCount() + ", Failed: " + getFailureCount();
+    }
+}
@@ -0,0 +1,455 @@
+// src/main/java/com/ems/main/BatchRunner.java
+package com.ems.main;
+
+import com.ems.dao.BulkResult;
+import com.ems.dao.DaoMetrics;
+import com.ems.dao.DataAccessException;
+import com.ems.dao.EmployeeCriteria;
+import com.ems.dao.EmployeeDAO;
+import com.ems.dao.SalaryReport;
+import com.ems.dao.StrictEmployeeDAO;
+import com.ems.io.EmployeeExporter;
+import com.ems.io.EmployeeImporter;
+import com.ems.io.ExportReport;
+import com.ems.io.ImportReport;
+import com.ems.model.Employee;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Non-interactive mode, for cron jobs and shell scripts: runs commands and exits with a status
+ * instead of showing the menu.
+ *
+ * <pre>
+ *   -c "raise-percent 3 'Software Engineer'; export /backups/employees.csv.gz"
+ *   --script nightly.ems        one command per line; # starts a comment
+ *   --script -                  commands from standard input
+ *   --keep-going                run the remaining commands after one fails
+ * </pre>
+ *
+ * Commands are separated by newlines or ';'. Arguments are split on whitespace; quote them with
+ * ' or " to keep spaces. Run "help" for the command list. The exit status is that of the first
+ * failed command, or 0. A database error is always EXIT_FAILED with its message, never an empty
+ * result or "not found": commands go through StrictEmployeeDAO, which throws DataAccessException
+ * where the EmployeeDAO methods would print the error and return 0, null or false.
+ */
+final class BatchRunner {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILED = 1;    // The database refused or failed, or an import rejected rows
+    static final int EXIT_USAGE = 2;     // Unknown command or bad arguments
+    static final int EXIT_NOT_FOUND = 3; // No employee with that ID
+    static final int EXIT_CONFLICT = 4;  // The employee was changed concurrently
+    static final int EXIT_IO = 5;        // Script or database could not be opened
+
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+
+    private static final String HELP =
+        "count\n" +
+        "list\n" +
+        "get <id>\n" +
+        "search <query> [limit]\n" +
+        "add <first> <last> <email> <phone|-> <hire-date> <job-title> <salary>\n" +
+        "update <id> <field>=<value>...   fields: first_name last_name email phone_number hire_date job_title salary\n" +
+        "delete <id>\n" +
+        "raise-percent <percent> [job-title]\n" +
+        "raise-amount <amount> [job-title]\n" +
+        "rename-title <from> <to>\n" +
+        "delete-where [title=<job-title>] [hired-before=<date>]\n" +
+        "import <file>\n" +
+        "export <file>\n" +
+        "summary\n" +
+        "metrics\n" +
+        "help";
+
+    private final EmployeeDAO dao; // For import, which reports failures per row
+    private final StrictEmployeeDAO strict;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final boolean keepGoing;
+
+    BatchRunner(EmployeeDAO dao, PrintStream out, PrintStream err, boolean keepGoing) {
+        this.dao = dao;
+        this.strict = new StrictEmployeeDAO(dao);
+        this.out = out;
+        this.err = err;
+        this.keepGoing = keepGoing;
+    }
+
+    static boolean isBatch(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("-c") || arg.equals("--script")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isKeepGoing(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--keep-going")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The commands named by the arguments, in order. IllegalArgumentException for a malformed
+    // command line, IOException for a script that cannot be read.
+    static String readCommands(String[] args) throws IOException {
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("-c") || option.equals("--script")) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(option + " needs an argument");
+                }
+                String value = args[++i];
+                try {
+                    commands.append(option.equals("-c") ? value : readScript(value)).append('\n');
+                } catch (IOException e) {
+                    throw new IOException("cannot read script " + value + ": " + e, e);
+                }
+            } else if (!option.equals("--keep-going")) {
+                throw new IllegalArgumentException("unknown option " + option);
+            }
+        }
+        return commands.toString();
+    }
+
+    private static String readScript(String name) throws IOException {
+        if (!name.equals("-")) {
+            return new String(Files.readAllBytes(Paths.get(name)), StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder();
+        Reader in = new InputStreamReader(System.in, StandardCharsets.UTF_8); // Not closed: that would close System.in
+        char[] buffer = new char[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            sb.append(buffer, 0, n);
+        }
+        return sb.toString();
+    }
+
+    // Runs every command in turn; the exit status
+    int run(String commands) {
+        List<List<String>> parsed;
+        try {
+            parsed = parse(commands);
+        } catch (IllegalArgumentException e) {
+            err.println("ems: " + e.getMessage());
+            return EXIT_USAGE;
+        }
+        int status = EXIT_OK;
+        for (List<String> command : parsed) {
+            int result;
+            try {
+                result = execute(command);
+            } catch (NumberFormatException | DateTimeParseException | IndexOutOfBoundsException e) {
+                out.flush();
+                err.println("ems: " + command.get(0) + ": bad or missing argument (" + e.getMessage() + ")");
+                result = EXIT_USAGE;
+            } catch (IllegalArgumentException e) {
+                out.flush();
+                err.println("ems: " + command.get(0) + ": " + e.getMessage());
+                result = EXIT_USAGE;
+            } catch (DataAccessException e) {
+                out.flush(); // Whatever was printed before the failure comes first
+                err.println("ems: " + command.get(0) + ": " + e.getMessage());
+                result = EXIT_FAILED;
+            }
+            if (result != EXIT_OK) {
+                if (status == EXIT_OK) {
+                    status = result;
+                }
+                if (!keepGoing) {
+                    break;
+                }
+            }
+        }
+        return status;
+    }
+
+    // --- Parsing ---
+    // Commands end at a newline or ';', a # outside quotes comments out the rest of the line
+    static List<List<String>> parse(String text) {
+        List<List<String>> commands = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        StringBuilder word = null;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    word.append(c);
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                if (word == null) {
+                    word = new StringBuilder();
+                }
+            } else if (c == '#') {
+                while (i + 1 < text.length() && text.charAt(i + 1) != '\n') {
+                    i++;
+                }
+            } else if (c == ';' || c == '\n' || Character.isWhitespace(c)) {
+                if (word != null) {
+                    words.add(word.toString());
+                    word = null;
+                }
+                if ((c == ';' || c == '\n') && !words.isEmpty()) {
+                    commands.add(words);
+                    words = new ArrayList<>();
+                }
+            } else {
+                if (word == null) {
+                    word = new StringBuilder();
+                }
+                word.append(c);
+            }
+        }
+        if (quote != 0) {
+            throw new IllegalArgumentException("unterminated " + quote + " quote");
+        }
+        if (word != null) {
+            words.add(word.toString());
+        }
+        if (!words.isEmpty()) {
+            commands.add(words);
+        }
+        return commands;
+    }
+
+    // --- Commands ---
+    private int execute(List<String> command) {
+        List<String> args = command.subList(1, command.size());
+        switch (command.get(0)) {
+            case "count":
+                out.println(strict.getEmployeeCount());
+                return EXIT_OK;
+            case "list":
+                return list();
+            case "get":
+                return get(Integer.parseInt(args.get(0)));
+            case "search":
+                return search(args.get(0), args.size() > 1 ? Integer.parseInt(args.get(1)) : DEFAULT_SEARCH_LIMIT);
+            case "add":
+                return add(args);
+            case "update":
+                return update(Integer.parseInt(args.get(0)), args.subList(1, args.size()));
+            case "delete":
+                return delete(Integer.parseInt(args.get(0)));
+            case "raise-percent":
+                return bulk(strict.adjustSalariesByPercent(jobTitleCriteria(args), Double.parseDouble(args.get(0)), false));
+            case "raise-amount":
+                return bulk(strict.adjustSalariesByAmount(jobTitleCriteria(args), Double.parseDouble(args.get(0)), false));
+            case "rename-title":
+                return bulk(strict.reassignJobTitle(args.get(0), args.get(1), false));
+            case "delete-where":
+                return bulk(strict.deleteEmployees(deleteCriteria(args), false));
+            case "import":
+                return importFile(Paths.get(args.get(0)));
+            case "export":
+                return exportFile(Paths.get(args.get(0)));
+            case "summary":
+                return summary();
+            case "metrics":
+                out.print(DaoMetrics.toText());
+                return EXIT_OK;
+            case "help":
+                out.println(HELP);
+                return EXIT_OK;
+            default:
+                throw new IllegalArgumentException("unknown command (try \"help\")");
+        }
+    }
+
+    // A failure part way through leaves the rows printed so far and throws DataAccessException
+    private int list() {
+        try (Stream<Employee> employees = strict.streamAllEmployees()) {
+            Iterator<Employee> it = employees.iterator();
+            while (it.hasNext()) {
+                out.println(it.next());
+            }
+        }
+        return EXIT_OK;
+    }
+
+    private int get(int id) {
+        Optional<Employee> employee = strict.getEmployeeById(id);
+        if (!employee.isPresent()) {
+            return notFound("get", id);
+        }
+        out.println(employee.get());
+        return EXIT_OK;
+    }
+
+    private int search(String query, int limit) {
+        for (Employee employee : strict.searchEmployees(query, limit)) {
+            out.println(employee);
+        }
+        return EXIT_OK;
+    }
+
+    private int add(List<String> args) {
+        if (args.size() != 7) {
+            throw new IllegalArgumentException("expected 7 arguments, got " + args.size());
+        }
+        Employee employee = new Employee(args.get(0), args.get(1), args.get(2),
+                                         args.get(3).equals("-") ? null : args.get(3),
+                                         LocalDate.parse(args.get(4)), args.get(5), Double.parseDouble(args.get(6)));
+        if (!strict.addEmployee(employee)) {
+            return failed("add", "the employee was not added");
+        }
+        out.println("Added " + employee.getId());
+        return EXIT_OK;
+    }
+
+    // Only the named fields are written, guarded by the version just read
+    private int update(int id, List<String> assignments) {
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("nothing to update");
+        }
+        Optional<Employee> found = strict.getEmployeeById(id);
+        if (!found.isPresent()) {
+            return notFound("update", id);
+        }
+        Employee employee = found.get();
+        for (String assignment : assignments) {
+            int eq = assignment.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("expected field=value, got " + assignment);
+            }
+            set(employee, assignment.substring(0, eq), assignment.substring(eq + 1));
+        }
+        switch (strict.updateEmployee(employee)) {
+            case UPDATED:
+                out.println("Updated " + id);
+                return EXIT_OK;
+            case UNCHANGED:
+                out.println("Unchanged " + id);
+                return EXIT_OK;
+            case NOT_FOUND:
+                return notFound("update", id);
+            default:
+                out.flush();
+                err.println("ems: update: employee " + id + " was changed concurrently; nothing was written");
+                return EXIT_CONFLICT;
+        }
+    }
+
+    private static void set(Employee employee, String field, String value) {
+        switch (field) {
+            case "first_name":
+                employee.setFirstName(value);
+                break;
+            case "last_name":
+                employee.setLastName(value);
+                break;
+            case "email":
+                employee.setEmail(value);
+                break;
+            case "phone_number":
+                employee.setPhoneNumber(value.isEmpty() || value.equals("-") ? null : value);
+                break;
+            case "hire_date":
+                employee.setHireDate(LocalDate.parse(value));
+                break;
+            case "job_title":
+                employee.setJobTitle(value);
+                break;
+            case "salary":
+                employee.setSalary(Double.parseDouble(value));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown field " + field);
+        }
+    }
+
+    private int delete(int id) {
+        if (!strict.deleteEmployee(id)) {
+            return notFound("delete", id);
+        }
+        out.println("Deleted " + id);
+        return EXIT_OK;
+    }
+
+    // The optional second argument of raise-percent / raise-amount
+    private static EmployeeCriteria jobTitleCriteria(List<String> args) {
+        return args.size() > 1 ? new EmployeeCriteria().jobTitle(args.get(1)) : new EmployeeCriteria();
+    }
+
+    private static EmployeeCriteria deleteCriteria(List<String> args) {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        for (String arg : args) {
+            if (arg.startsWith("title=")) {
+                criteria.jobTitle(arg.substring("title=".length()));
+            } else if (arg.startsWith("hired-before=")) {
+                criteria.hiredBetween(null, LocalDate.parse(arg.substring("hired-before=".length())));
+            } else {
+                throw new IllegalArgumentException("expected title=... or hired-before=..., got " + arg);
+            }
+        }
+        return criteria; // deleteEmployees refuses it if empty
+    }
+
+    private int bulk(BulkResult result) {
+        out.println(result);
+        return EXIT_OK;
+    }
+
+    private int importFile(Path file) {
+        if (!Files.isRegularFile(file)) {
+            out.flush();
+            err.println("ems: import: file not found: " + file);
+            return EXIT_IO;
+        }
+        ImportReport report = new EmployeeImporter(dao).importFile(file);
+        out.println(report);
+        for (ImportReport.Reject reject : report.getRejects()) {
+            err.println("ems: import: rejected " + reject);
+        }
+        return report.isComplete() && report.getRejected() == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    private int exportFile(Path file) {
+        ExportReport report = new EmployeeExporter().exportFile(file);
+        out.println(report);
+        return report.isComplete() ? EXIT_OK : EXIT_FAILED;
+    }
+
+    private int summary() {
+        out.println("Total number of employees: " + strict.getEmployeeCount());
+        SalaryReport report = strict.getSalaryReport();
+        out.println(report);
+        return EXIT_OK;
+    }
+
+    private int notFound(String command, int id) {
+        out.flush(); // Keep stdout and stderr in order on a shared terminal
+        err.println("ems: " + command + ": employee " + id + " not found");
+        return EXIT_NOT_FOUND;
+    }
+
+    private int failed(String command, String message) {
+        out.flush();
+        err.println("ems: " + command + ": " + message);
+        return EXIT_FAILED;
+    }
+}
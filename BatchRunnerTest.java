@@ -0,0 +1,141 @@
+// src/test/java/com/ems/main/BatchRunnerTest.java
+package com.ems.main;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exit statuses of batch commands: a missing employee is EXIT_NOT_FOUND, but a database error
+ * is EXIT_FAILED for every command, never an empty result, a zero count or "not found".
+ */
+class BatchRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("batch.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void commandsSucceedOnAHealthyDatabase() {
+        assertEquals(BatchRunner.EXIT_OK, run("add Ada Lovelace ada@example.com - 2019-03-01 Engineer 4189.855; count; get 1"));
+        assertEquals("Added 1\n1\n", firstLines(2));
+        assertTrue(output().contains("Salary: $4189.86"), output());
+        assertEquals(BatchRunner.EXIT_OK, run("search Lovelace; list; update 1 job_title=Principal; delete 1; count"));
+        assertTrue(output().endsWith("Updated 1\nDeleted 1\n0\n"), output());
+    }
+
+    @Test
+    void missingEmployeesAreNotFound() {
+        assertEquals(BatchRunner.EXIT_NOT_FOUND, run("get 42"));
+        assertEquals(BatchRunner.EXIT_NOT_FOUND, run("delete 42"));
+        assertEquals(BatchRunner.EXIT_NOT_FOUND, run("update 42 salary=1"));
+        assertTrue(errors().contains("employee 42 not found"), errors());
+        assertEquals(BatchRunner.EXIT_USAGE, run("frobnicate"));
+    }
+
+    @Test
+    void databaseErrorsFailEveryCommand() throws SQLException {
+        execute("DROP TABLE employees");
+        String[] commands = {
+            "count", "list", "get 1", "search Ada", "delete 1", "update 1 salary=1", "summary",
+            "add A One a@example.com - 2020-01-01 Clerk 1", "raise-percent 3 Clerk", "raise-amount 100",
+            "rename-title Clerk Associate", "delete-where title=Clerk"
+        };
+        for (String command : commands) {
+            assertEquals(BatchRunner.EXIT_FAILED, run(command), command);
+            // One message naming the command and the cause, not a DAO line plus a bare status
+            assertTrue(errors().startsWith("ems: " + command.split(" ")[0] + ": "), command + ": " + errors());
+            assertTrue(errors().contains("no such table"), command + ": " + errors());
+            assertEquals(1, errors().split("\n").length, command + ": " + errors());
+        }
+    }
+
+    @Test
+    void listFailingMidwayKeepsTheRowsPrintedAndFails() throws SQLException {
+        assertEquals(BatchRunner.EXIT_OK, run("add A One a@example.com - 2020-01-01 Clerk 1; add B Two b@example.com - 2020-01-01 Clerk 2;"
+                                              + "add C Three c@example.com - 2020-01-01 Clerk 3"));
+        execute("ALTER TABLE employees RENAME TO employees_base");
+        execute("CREATE VIEW employees AS SELECT id, first_name, last_name, email, phone_number, hire_date, job_title, "
+                + "CASE WHEN id > 2 THEN json_extract('not json', '$') ELSE salary END AS salary, version FROM employees_base");
+
+        assertEquals(BatchRunner.EXIT_FAILED, run("list; count"));
+        String[] lines = output().split("\n");
+        assertEquals(2, lines.length, output()); // count did not run after the failure
+        assertTrue(lines[0].startsWith("ID: 1,") && lines[1].startsWith("ID: 2,"), output());
+        assertTrue(errors().startsWith("ems: list: "), errors());
+    }
+
+    @Test
+    void keepGoingReportsTheFirstFailure() {
+        out.reset();
+        err.reset();
+        int status = new BatchRunner(new EmployeeDAO(), print(out), print(err), true).run("get 7; frobnicate; count");
+        assertEquals(BatchRunner.EXIT_NOT_FOUND, status);
+        assertEquals("0\n", output());
+    }
+
+    // Runs commands on a fresh runner that stops at the first failure; its exit status
+    private int run(String commands) {
+        out.reset();
+        err.reset();
+        return new BatchRunner(new EmployeeDAO(), print(out), print(err), false).run(commands);
+    }
+
+    private static PrintStream print(ByteArrayOutputStream bytes) {
+        return new PrintStream(bytes, true);
+    }
+
+    private String output() {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+    }
+
+    private String errors() {
+        return new String(err.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String firstLines(int count) {
+        StringBuilder sb = new StringBuilder();
+        String[] lines = output().split("\n");
+        for (int i = 0; i < count; i++) {
+            sb.append(lines[i]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+// src/jmh/java/com/ems/bench/BenchmarkDatabase.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway SQLite database for one benchmark trial. Points DatabaseManager at a temp file,
+ * creates the schema and seeds it with deterministic pseudo-random employees.
+ */
+final class BenchmarkDatabase {
+
+    static final String[] JOB_TITLES = {
+        "Software Engineer", "Senior Software Engineer", "Engineering Manager", "QA Engineer",
+        "Product Manager", "Designer", "Data Analyst", "HR Specialist", "Accountant", "Sales Representative"
+    };
+
+    private final Path dir;
+
+    private BenchmarkDatabase(Path dir) {
+        this.dir = dir;
+    }
+
+    static BenchmarkDatabase create(int rows) throws IOException {
+        Path dir = Files.createTempDirectory("ems-bench");
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("employee_management.db"));
+        DatabaseManager.shutdown(); // Drop any pool still pointing at a previous trial's file
+        DatabaseManager.initializeDatabase();
+        seed(rows);
+        return new BenchmarkDatabase(dir);
+    }
+
+    void close() throws IOException {
+        DatabaseManager.shutdown();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static void seed(int rows) {
+        EmployeeDAO dao = new EmployeeDAO();
+        dao.setBatchSize(5_000);
+        Random random = new Random(42);
+        List<Employee> batch = new ArrayList<>(5_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(employee(random, "seed" + i + "@bench.example"));
+            if (batch.size() == 5_000) {
+                dao.addEmployees(batch);
+                batch.clear();
+            }
+        }
+        dao.addEmployees(batch);
+    }
+
+    static Employee employee(Random random, String email) {
+        return new Employee(
+            "First" + random.nextInt(5_000),
+            "Last" + random.nextInt(20_000),
+            email,
+            random.nextBoolean() ? "555-" + (1000 + random.nextInt(9000)) : null,
+            LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000)),
+            JOB_TITLES[random.nextInt(JOB_TITLES.length)],
+            30_000 + random.nextInt(170_000) + random.nextInt(100) / 100.0);
+    }
+}
@@ -0,0 +1,40 @@
+// src/jmh/java/com/ems/bench/BenchmarkMain.java
+package com.ems.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of target/benchmarks.jar. Takes the usual JMH command line, but writes results
+ * as JSON to target/jmh-result.json unless -rf/-rff say otherwise, so runs from different
+ * releases can be diffed.
+ *
+ * <pre>
+ * mvn -P benchmarks package
+ * java -jar target/benchmarks.jar                         # everything
+ * java -jar target/benchmarks.jar EmployeeDAOBenchmark.getEmployeeById -p rows=100000
+ * </pre>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("com\\.ems\\.bench\\..*");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result("target/jmh-result.json");
+        }
+        Options options = builder.parent(commandLine).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,48 @@
+// src/main/java/com/ems/dao/BulkResult.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a set-based update or delete: how many rows it touched and, if the caller asked
+ * for them, those rows before and after. getBefore().get(i) and getAfter().get(i) are the same
+ * employee.
+ */
+public class BulkResult {
+
+    private final int count;
+    private final List<Employee> before;
+    private final List<Employee> after;
+
+    BulkResult(int count, List<Employee> before, List<Employee> after) {
+        this.count = count;
+        this.before = before;
+        this.after = after;
+    }
+
+    static BulkResult countOnly(int count) {
+        return new BulkResult(count, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // Rows as they were; empty unless rows were requested
+    public List<Employee> getBefore() {
+        return before;
+    }
+
+    // Rows as written; empty for deletes and unless rows were requested
+    public List<Employee> getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "Rows affected: " + count;
+    }
+}
@@ -0,0 +1,76 @@
+// src/jmh/java/com/ems/bench/BulkUpdateBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.BulkResult;
+import com.ems.dao.EmployeeCriteria;
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 3% raise for every "Software Engineer" (a tenth of the seeded rows): the read-filter-update
+ * loop the CLI needed before, against one adjustSalariesByPercent statement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkUpdateBenchmark {
+
+    private static final String JOB_TITLE = "Software Engineer";
+
+    @Param({"100000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        dao = new EmployeeDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public int rowByRow() {
+        int updated = 0;
+        for (Employee employee : dao.getAllEmployees()) {
+            if (employee.getJobTitle().equals(JOB_TITLE)) {
+                employee.setSalary(Math.round(employee.getSalary() * 103) / 100.0);
+                if (dao.updateEmployee(employee)) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public int setBased() {
+        BulkResult result = dao.adjustSalariesByPercent(new EmployeeCriteria().jobTitle(JOB_TITLE), 3, false);
+        return result.getCount();
+    }
+}
@@ -0,0 +1,245 @@
+// src/main/java/com/ems/dao/CachingEmployeeDAO.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Read-through / write-through cache in front of another EmployeeDAO.
+ * Single-row lookups are served from the cache; writes go to the database first
+ * and then refresh or invalidate the cached row. Scans, streams and pages always
+ * go to the database.
+ *
+ * Single-row operations override the package-private throwing cores rather than the
+ * public methods, so AsyncEmployeeDAO goes through the cache as well.
+ */
+public class CachingEmployeeDAO extends EmployeeDAO {
+
+    private final EmployeeDAO delegate;
+    private final EmployeeCache cache;
+
+    public CachingEmployeeDAO(EmployeeDAO delegate, EmployeeCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public EmployeeCache getCache() {
+        return cache;
+    }
+
+    // --- CREATE ---
+    @Override
+    boolean insertEmployee(Employee employee) throws SQLException {
+        boolean added = delegate.insertEmployee(employee);
+        if (added) {
+            cache.put(employee);
+        }
+        return added;
+    }
+
+    @Override
+    public BatchResult addEmployees(Collection<Employee> employees) {
+        List<Employee> rows = new ArrayList<>(employees);
+        BatchResult result = delegate.addEmployees(rows);
+        for (int i = 0; i < result.size(); i++) {
+            if (result.isSuccess(i)) {
+                cache.put(rows.get(i));
+            }
+        }
+        return result;
+    }
+
+    // --- READ ---
+    @Override
+    Employee selectEmployeeById(int id) throws SQLException {
+        Employee cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.readStamp();
+        Employee employee = delegate.selectEmployeeById(id);
+        if (employee != null) {
+            cache.putIfUnchanged(employee, stamp);
+        }
+        return employee;
+    }
+
+    // Cached rows are served directly; only the misses go to the database, in one query
+    @Override
+    List<Employee> selectEmployeesByIds(int... ids) throws SQLException {
+        Map<Integer, Employee> found = new LinkedHashMap<>(ids.length * 2);
+        int[] missing = new int[ids.length];
+        int missingCount = 0;
+        for (int id : ids) {
+            if (!found.containsKey(id)) {
+                Employee cached = cache.get(id);
+                found.put(id, cached);
+                if (cached == null) {
+                    missing[missingCount++] = id;
+                }
+            }
+        }
+        if (missingCount > 0) {
+            long stamp = cache.readStamp();
+            for (Employee employee : delegate.selectEmployeesByIds(Arrays.copyOf(missing, missingCount))) {
+                found.put(employee.getId(), employee);
+                cache.putIfUnchanged(employee, stamp);
+            }
+        }
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (Employee employee : found.values()) {
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    @Override
+    Employee selectEmployeeByEmail(String email) throws SQLException {
+        Employee cached = cache.getByEmail(email);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.readStamp();
+        Employee employee = delegate.selectEmployeeByEmail(email);
+        if (employee != null) {
+            cache.putIfUnchanged(employee, stamp);
+        }
+        return employee;
+    }
+
+    @Override
+    List<Employee> selectAllEmployees() throws SQLException {
+        return delegate.selectAllEmployees();
+    }
+
+    @Override
+    public Stream<Employee> streamAllEmployees() {
+        return delegate.streamAllEmployees();
+    }
+
+    @Override
+    List<Employee> selectEmployeesPage(int afterId, int limit) throws SQLException {
+        return delegate.selectEmployeesPage(afterId, limit);
+    }
+
+    @Override
+    List<Employee> selectEmployees(EmployeeCriteria criteria) throws SQLException {
+        return delegate.selectEmployees(criteria);
+    }
+
+    @Override
+    List<Employee> selectSearch(String query, int limit) throws SQLException {
+        return delegate.selectSearch(query, limit);
+    }
+
+    @Override
+    int countEmployees() throws SQLException {
+        return delegate.countEmployees();
+    }
+
+    @Override
+    int countEmployees(EmployeeCriteria criteria) throws SQLException {
+        return delegate.countEmployees(criteria);
+    }
+
+    @Override
+    SalaryReport selectSalaryReport() throws SQLException {
+        return delegate.selectSalaryReport();
+    }
+
+    // --- UPDATE ---
+    @Override
+    UpdateResult updateEmployeeRow(Employee employee) throws SQLException {
+        UpdateResult result;
+        try {
+            result = delegate.updateEmployeeRow(employee);
+        } catch (SQLException e) {
+            cache.invalidate(employee.getId());
+            throw e;
+        }
+        if (result == UpdateResult.UPDATED) {
+            cache.put(employee);
+        } else if (result != UpdateResult.UNCHANGED) {
+            cache.invalidate(employee.getId()); // Gone, or changed elsewhere
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult updateEmployees(Collection<Employee> employees) {
+        List<Employee> rows = new ArrayList<>(employees);
+        BatchResult result = delegate.updateEmployees(rows);
+        for (int i = 0; i < result.size(); i++) {
+            if (result.isSuccess(i) && rows.get(i).getVersion() > 0) {
+                cache.put(rows.get(i));
+            } else {
+                cache.invalidate(rows.get(i).getId()); // Failed, or its new version is unknown
+            }
+        }
+        return result;
+    }
+
+    // --- SET-BASED ---
+    // Any cached row may be among those changed, and they are not always read back, so the whole
+    // cache goes
+    @Override
+    BulkResult updateWhere(DaoMetrics.Operation operation, String assignments, List<Object> assignmentParams,
+                           EmployeeCriteria criteria, boolean returnRows) throws SQLException {
+        try {
+            return delegate.updateWhere(operation, assignments, assignmentParams, criteria, returnRows);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Override
+    BulkResult deleteWhere(EmployeeCriteria criteria, boolean returnRows) throws SQLException {
+        try {
+            return delegate.deleteWhere(criteria, returnRows);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    // --- DELETE ---
+    @Override
+    boolean deleteEmployeeRow(int id) throws SQLException {
+        try {
+            return delegate.deleteEmployeeRow(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    // --- CONFIG ---
+    // Writes are made by the delegate, so that is where listeners have to sit
+    @Override
+    public void addChangeListener(EmployeeChangeListener listener) {
+        delegate.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(EmployeeChangeListener listener) {
+        delegate.removeChangeListener(listener);
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        delegate.setBatchSize(batchSize);
+    }
+
+    @Override
+    public int getBatchSize() {
+        return delegate.getBatchSize();
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/ems/journal/ChangeEvent.java
+package com.ems.journal;
+
+import com.ems.model.Employee;
+
+/**
+ * One committed mutation of the employees table as recorded in the change journal.
+ * before is null for inserts, after is null for deletes. The Employee objects are the
+ * journal's own copies, so a consumer may keep or modify them.
+ */
+public final class ChangeEvent {
+
+    public enum Type {
+        INSERT, UPDATE, DELETE;
+
+        private static final Type[] VALUES = values();
+
+        static Type fromCode(int code) {
+            if (code < 0 || code >= VALUES.length) {
+                throw new IllegalArgumentException("Unknown change type: " + code);
+            }
+            return VALUES[code];
+        }
+    }
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final Type type;
+    private final int employeeId;
+    private final Employee before;
+    private final Employee after;
+
+    ChangeEvent(long sequence, long timestampMillis, Type type, int employeeId, Employee before, Employee after) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.employeeId = employeeId;
+        this.before = before;
+        this.after = after;
+    }
+
+    // Gapless and increasing across segments, starting at 1
+    public long getSequence() {
+        return sequence;
+    }
+
+    // When the DAO reported the commit, not when the event reached the disk
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    // Null for inserts, and for updates made while no journal asked for before-images
+    public Employee getBefore() {
+        return before;
+    }
+
+    public Employee getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " employee " + employeeId + " at " + timestampMillis;
+    }
+}
@@ -0,0 +1,362 @@
+// src/main/java/com/ems/journal/ChangeJournal.java
+package com.ems.journal;
+
+import com.ems.dao.EmployeeChangeListener;
+import com.ems.model.Employee;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit log of every employee mutation, fed by EmployeeDAO's change listeners.
+ *
+ * Registering a journal with dao.addChangeListener(journal) makes the DAO capture before-images,
+ * and every committed insert, update and delete is then queued here as a ChangeEvent. The writing
+ * thread only copies the row and enqueues it; a single journal thread encodes queued events into
+ * a memory-mapped segment file and forces the segment to disk once per batch (group commit), so
+ * one fsync covers every event that arrived while the previous one was running. Segments rotate
+ * at segmentSize bytes. The format is described in EventCodec; JournalReader replays and tails it.
+ *
+ * The queue is bounded: when the disk cannot keep up, writers block rather than lose events.
+ * Events are durable once flush() returns; after a crash, the events still queued are lost and a
+ * record cut short mid-write is discarded when the journal is opened again.
+ */
+public class ChangeJournal implements EmployeeChangeListener, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int MAX_GROUP = 4_096; // Events per force()
+
+    private final Path directory;
+    private final int segmentSize;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY); // ChangeEvents and flush markers
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private volatile long durableSequence;
+    private volatile long commits;
+
+    // Journal thread only
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+    private final EventCodec.Scratch scratch = new EventCodec.Scratch(512);
+    private final CRC32 crc = new CRC32();
+
+    private ChangeJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.writer = new Thread(this::run, "ems-change-journal");
+        this.writer.setDaemon(true);
+    }
+
+    public static ChangeJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // Creates the directory if needed, recovers the newest segment and starts the journal thread
+    public static ChangeJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_SIZE + " bytes: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        ChangeJournal journal = new ChangeJournal(directory, segmentSize);
+        journal.recover();
+        journal.writer.start();
+        return journal;
+    }
+
+    // --- Recovery ---
+    // Finds the end of the data in the newest segment. A torn record there, and anything after
+    // it, is zeroed so it cannot be mistaken for data once new records are written over it.
+    private void recover() throws IOException {
+        List<Path> segments = EventCodec.listSegments(directory);
+        while (!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            long firstSequence = EventCodec.firstSequenceOf(last);
+            mapSegment(last);
+            if (EventCodec.hasValidHeader(segment, firstSequence)) {
+                int position = EventCodec.HEADER_SIZE;
+                nextSequence = firstSequence;
+                int length;
+                while ((length = EventCodec.probe(segment, position)) > 0) {
+                    nextSequence = EventCodec.decode(segment, position, length).getSequence() + 1;
+                    position += EventCodec.RECORD_OVERHEAD + length;
+                }
+                int discarded = zeroFrom(position);
+                if (discarded > 0) {
+                    segment.force();
+                    System.err.println("Change journal: discarded " + discarded + " bytes of an incomplete record in " + last.getFileName());
+                }
+                segment.position(position);
+                durableSequence = nextSequence - 1;
+                return;
+            }
+            // Created but never initialised: the crash came during rotation, so it holds no events
+            channel.close();
+            Files.delete(last);
+            segments.remove(segments.size() - 1);
+        }
+        nextSequence = 1;
+        createSegment();
+    }
+
+    private int zeroFrom(int position) {
+        int discarded = 0;
+        for (int i = position; i < segment.limit(); i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+                discarded = i - position + 1;
+            }
+        }
+        return discarded;
+    }
+
+    // --- Segments ---
+    private void mapSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // Grows a short file with zeros
+    }
+
+    private void createSegment() throws IOException {
+        Path file = EventCodec.segmentPath(directory, nextSequence);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        EventCodec.writeHeader(segment, nextSequence);
+        segment.force();
+        segment.position(EventCodec.HEADER_SIZE);
+        syncDirectory();
+    }
+
+    private void rotate() throws IOException {
+        segment.force();
+        channel.close(); // The old mapping stays readable until it is garbage collected
+        createSegment();
+    }
+
+    // Makes the new file's directory entry durable; not every platform can open a directory
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    // --- Listener ---
+    @Override
+    public boolean wantsPreviousValues() {
+        return true;
+    }
+
+    @Override
+    public void employeeAdded(Employee employee) {
+        enqueue(ChangeEvent.Type.INSERT, employee.getId(), null, copy(employee));
+    }
+
+    // The before-image was read by the DAO for us, so only the caller's object needs copying
+    @Override
+    public void employeeUpdated(Employee before, Employee after) {
+        enqueue(ChangeEvent.Type.UPDATE, after.getId(), before, copy(after));
+    }
+
+    @Override
+    public void employeeDeleted(int id, Employee before) {
+        enqueue(ChangeEvent.Type.DELETE, id, before, null);
+    }
+
+    // Only reached when called directly rather than by the DAO; recorded without a before-image
+    @Override
+    public void employeeSaved(Employee employee) {
+        enqueue(ChangeEvent.Type.UPDATE, employee.getId(), null, copy(employee));
+    }
+
+    @Override
+    public void employeeDeleted(int id) {
+        enqueue(ChangeEvent.Type.DELETE, id, null, null);
+    }
+
+    private static Employee copy(Employee e) {
+        return new Employee(e);
+    }
+
+    private void enqueue(ChangeEvent.Type type, int id, Employee before, Employee after) {
+        if (closed) {
+            System.err.println("Change journal is closed; not recording " + type + " of employee " + id);
+            return;
+        }
+        try {
+            queue.put(new ChangeEvent(0, System.currentTimeMillis(), type, id, before, after)); // Sequence is assigned on write
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while recording " + type + " of employee " + id + " in the change journal");
+        }
+    }
+
+    // --- Journal thread ---
+    private void run() {
+        List<Object> batch = new ArrayList<>(MAX_GROUP);
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Object first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_GROUP - 1);
+                commit(batch, flushes);
+                batch.clear();
+                flushes.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Object entry : queue) { // Flushes that raced with close()
+                if (entry instanceof CompletableFuture) {
+                    ((CompletableFuture<?>) entry).completeExceptionally(new IOException("Change journal is closed"));
+                }
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing change journal: " + e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void commit(List<Object> batch, List<CompletableFuture<Void>> flushes) {
+        boolean written = false;
+        for (Object entry : batch) {
+            if (entry instanceof ChangeEvent) {
+                written |= append((ChangeEvent) entry);
+            } else {
+                flushes.add((CompletableFuture<Void>) entry);
+            }
+        }
+        if (written && failure == null) {
+            segment.force(); // One sync for the whole group
+            commits++;
+            durableSequence = nextSequence - 1;
+        }
+        for (CompletableFuture<Void> flush : flushes) {
+            if (failure != null) {
+                flush.completeExceptionally(failure);
+            } else {
+                flush.complete(null);
+            }
+        }
+    }
+
+    private boolean append(ChangeEvent event) {
+        if (failure != null) {
+            return false; // Reported when it happened; the journal is no longer written
+        }
+        try {
+            scratch.reset();
+            EventCodec.encode(scratch.data, nextSequence, event);
+            int length = scratch.size();
+            int recordSize = EventCodec.RECORD_OVERHEAD + length;
+            if (recordSize > segmentSize - EventCodec.HEADER_SIZE) {
+                System.err.println("Change journal: " + event.getType() + " of employee " + event.getEmployeeId()
+                                   + " is too large for a segment (" + length + " bytes); not recorded");
+                return false;
+            }
+            if (segment.remaining() < recordSize) {
+                rotate();
+            }
+            int position = segment.position();
+            crc.reset();
+            crc.update(scratch.bytes(), 0, length);
+            segment.putInt(position + 4, (int) crc.getValue());
+            segment.position(position + EventCodec.RECORD_OVERHEAD);
+            segment.put(scratch.bytes(), 0, length);
+            segment.putInt(position, length); // Last, so a reader never sees a length without its record
+            nextSequence++;
+            return true;
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("Error writing change journal; no further changes will be recorded: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // --- Control ---
+    // Blocks until every event recorded before the call is on disk
+    public void flush() throws IOException {
+        if (closed) {
+            throw new IOException("Change journal is closed");
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            while (!queue.offer(done, 100, TimeUnit.MILLISECONDS)) {
+                checkWriterAlive(done);
+            }
+            while (true) {
+                try {
+                    done.get(100, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    checkWriterAlive(done);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the change journal", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Change journal write failed", e.getCause());
+        }
+    }
+
+    // A close() racing with flush() can stop the journal thread after its last look at the queue
+    // but before the flush marker lands there, and then nothing would ever complete it
+    private void checkWriterAlive(CompletableFuture<Void> done) throws IOException {
+        if (!writer.isAlive() && !done.isDone()) {
+            throw new IOException("Change journal is closed");
+        }
+    }
+
+    // Writes out what is queued and stops the journal thread. Remove the journal from the DAO first.
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Sequence of the newest event known to be on disk; 0 if none
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    // Number of syncs so far; durable events / commits is the average group size
+    public long getCommits() {
+        return commits;
+    }
+
+    public boolean isHealthy() {
+        return failure == null && !closed;
+    }
+}
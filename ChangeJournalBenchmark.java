@@ -0,0 +1,116 @@
+// src/jmh/java/com/ems/bench/ChangeJournalBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.journal.ChangeJournal;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * What recording changes costs the writer: updateEmployee and a 100-row updateEmployees with no
+ * journal, and with a ChangeJournal attached (before-image read plus enqueue). The "Flushed"
+ * variant also waits for the event to be on disk, i.e. the latency of a synchronous audit log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChangeJournalBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+    private Path journalDir;
+    private ChangeJournal changeJournal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        dao = new EmployeeDAO();
+        if (journal) {
+            journalDir = Files.createTempDirectory("ems-journal");
+            changeJournal = ChangeJournal.open(journalDir);
+            dao.addChangeListener(changeJournal);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (changeJournal != null) {
+            dao.removeChangeListener(changeJournal);
+            changeJournal.close();
+            try (Stream<Path> files = Files.list(journalDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(journalDir);
+        }
+        database.close();
+    }
+
+    // Seeded row N has id N + 1; reuse its email so the UNIQUE constraint never fires
+    private Employee randomUpdate() {
+        int id = 1 + ThreadLocalRandom.current().nextInt(rows);
+        Employee employee = BenchmarkDatabase.employee(ThreadLocalRandom.current(), "seed" + (id - 1) + "@bench.example");
+        employee.setId(id);
+        return employee;
+    }
+
+    @Benchmark
+    public boolean updateEmployee() {
+        return dao.updateEmployee(randomUpdate());
+    }
+
+    @Benchmark
+    public boolean updateEmployeeFlushed() throws IOException {
+        boolean updated = dao.updateEmployee(randomUpdate());
+        if (changeJournal != null) {
+            changeJournal.flush();
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public int updateEmployees() {
+        List<Employee> employees = new ArrayList<>(BATCH);
+        int first = 1 + ThreadLocalRandom.current().nextInt(rows - BATCH);
+        for (int id = first; id < first + BATCH; id++) {
+            Employee employee = BenchmarkDatabase.employee(ThreadLocalRandom.current(), "seed" + (id - 1) + "@bench.example");
+            employee.setId(id);
+            employees.add(employee);
+        }
+        return dao.updateEmployees(employees).getSuccessCount();
+    }
+}
@@ -0,0 +1,230 @@
+// src/test/java/com/ems/journal/ChangeJournalTest.java
+package com.ems.journal;
+
+import com.ems.model.Employee;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recovery of the change journal after the crashes its format is designed to survive: a record
+ * cut short or corrupted at the end of the newest segment, and a segment file left empty by a
+ * rotation that never finished. Reopening must keep every intact event, drop the damaged one, and
+ * resume appending at the sequence after the last intact event.
+ */
+class ChangeJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024; // The minimum, so a few thousand events rotate
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rotatesAcrossSegmentsAndResumesAfterReopen() throws IOException {
+        int events = 3_000;
+        write(1, events);
+        List<Path> segments = EventCodec.listSegments(dir);
+        assertTrue(segments.size() > 2, "expected several segments, got " + segments.size());
+        assertEquals(1, EventCodec.firstSequenceOf(segments.get(0)));
+
+        // Each segment is named after its first event, and the replay runs 1..N without gaps
+        List<ChangeEvent> replayed = replay(1);
+        assertSequences(replayed, 1, events);
+        for (Path segment : segments.subList(1, segments.size())) {
+            long first = EventCodec.firstSequenceOf(segment);
+            assertEquals(first, replayed.get((int) first - 1).getSequence());
+        }
+
+        try (ChangeJournal journal = ChangeJournal.open(dir, SEGMENT_SIZE)) {
+            assertEquals(events, journal.getDurableSequence());
+        }
+        write(events + 1, 1);
+        assertSequences(replay(1), 1, events + 1);
+        List<ChangeEvent> tail = replay(events + 1);
+        assertEquals(1, tail.size());
+        assertEquals(events + 1, tail.get(0).getEmployeeId());
+        assertEquals(segments.size(), EventCodec.listSegments(dir).size(), "appended to the newest segment");
+    }
+
+    @Test
+    void recordTruncatedMidWriteIsDiscarded() throws IOException {
+        write(1, 10);
+        Path newest = newestSegment();
+        int[] last = lastRecord(newest);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.WRITE)) {
+            channel.truncate(last[0] + EventCodec.RECORD_OVERHEAD + last[1] / 2);
+        }
+        assertSequences(replay(1), 1, 9);
+
+        assertResumesAfter(9);
+    }
+
+    @Test
+    void recordWithBadCrcIsDiscarded() throws IOException {
+        write(1, 10);
+        Path newest = newestSegment();
+        int[] last = lastRecord(newest);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer crc = ByteBuffer.allocate(4);
+            channel.read(crc, last[0] + 4);
+            crc.flip();
+            crc.putInt(0, ~crc.getInt(0));
+            channel.write(crc, last[0] + 4);
+        }
+        assertSequences(replay(1), 1, 9);
+
+        assertResumesAfter(9);
+    }
+
+    @Test
+    void emptySegmentFromAnInterruptedRotationIsRemoved() throws IOException {
+        write(1, 10);
+        Path torn = EventCodec.segmentPath(dir, 11);
+        Files.createFile(torn);
+        assertSequences(replay(1), 1, 10);
+
+        assertResumesAfter(10);
+        assertFalse(Files.exists(torn), "the empty segment is deleted, not reused as garbage");
+        assertEquals(1, EventCodec.listSegments(dir).size());
+    }
+
+    @Test
+    void onlyTheNewestSegmentIsRecovered() throws IOException {
+        write(1, 3_000);
+        List<Path> segments = EventCodec.listSegments(dir);
+        Path newest = segments.get(segments.size() - 1);
+        long firstOfNewest = EventCodec.firstSequenceOf(newest);
+        int[] last = lastRecord(newest);
+        long lastIntact = lastSequence(newest) - 1;
+        assertTrue(lastIntact >= firstOfNewest);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.WRITE)) {
+            channel.truncate(last[0] + 2); // Not even the whole length field survived
+        }
+
+        assertResumesAfter(lastIntact);
+        assertEquals(segments, EventCodec.listSegments(dir));
+    }
+
+    // close() racing with flush(): the flush either completes or fails, it never hangs
+    @Test
+    void flushRacingCloseReturns() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            ChangeJournal journal = ChangeJournal.open(dir.resolve("race-" + round), SEGMENT_SIZE);
+            journal.employeeAdded(employee(round));
+            AtomicReference<Throwable> unexpected = new AtomicReference<>();
+            Thread flusher = new Thread(() -> {
+                try {
+                    while (true) {
+                        journal.flush();
+                    }
+                } catch (IOException e) {
+                    // Closed: expected once close() wins
+                } catch (RuntimeException e) {
+                    unexpected.set(e);
+                }
+            });
+            flusher.start();
+            journal.close();
+            flusher.join(10_000);
+            assertFalse(flusher.isAlive(), "flush() hung after close() in round " + round);
+            assertNull(unexpected.get());
+        }
+    }
+
+    @Test
+    void flushAfterCloseFails() throws IOException {
+        ChangeJournal journal = ChangeJournal.open(dir, SEGMENT_SIZE);
+        journal.employeeAdded(employee(1));
+        journal.flush();
+        assertEquals(1, journal.getDurableSequence());
+        journal.close();
+        assertThrows(IOException.class, journal::flush);
+        assertFalse(journal.isHealthy());
+    }
+
+    // Reopens the journal: appends must continue right after the last intact event
+    private void assertResumesAfter(long lastIntact) throws IOException {
+        try (ChangeJournal journal = ChangeJournal.open(dir, SEGMENT_SIZE)) {
+            assertEquals(lastIntact, journal.getDurableSequence());
+            journal.employeeAdded(employee(9_999));
+            journal.flush();
+            assertEquals(lastIntact + 1, journal.getDurableSequence());
+        }
+        List<ChangeEvent> replayed = replay(1);
+        assertSequences(replayed, 1, lastIntact + 1);
+        ChangeEvent appended = replayed.get(replayed.size() - 1);
+        assertEquals(9_999, appended.getEmployeeId());
+        assertEquals("Last9999", appended.getAfter().getLastName());
+    }
+
+    // Events for employees from..from+count-1, each in order
+    private void write(int from, int count) throws IOException {
+        try (ChangeJournal journal = ChangeJournal.open(dir, SEGMENT_SIZE)) {
+            for (int id = from; id < from + count; id++) {
+                journal.employeeAdded(employee(id));
+            }
+            journal.flush();
+            assertEquals(from + count - 1, journal.getDurableSequence());
+        }
+    }
+
+    private List<ChangeEvent> replay(long fromSequence) throws IOException {
+        List<ChangeEvent> events = new ArrayList<>();
+        JournalReader.replay(dir, fromSequence, events::add);
+        return events;
+    }
+
+    private Path newestSegment() throws IOException {
+        List<Path> segments = EventCodec.listSegments(dir);
+        return segments.get(segments.size() - 1);
+    }
+
+    // Position and payload length of the last intact record in a segment
+    private static int[] lastRecord(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = EventCodec.HEADER_SIZE;
+        int[] last = null;
+        int length;
+        while ((length = EventCodec.probe(data, position)) > 0) {
+            last = new int[] {position, length};
+            position += EventCodec.RECORD_OVERHEAD + length;
+        }
+        assertTrue(last != null, "no records in " + segment);
+        return last;
+    }
+
+    private static long lastSequence(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int[] last = lastRecord(segment);
+        return EventCodec.decode(data, last[0], last[1]).getSequence();
+    }
+
+    private static void assertSequences(List<ChangeEvent> events, long first, long last) {
+        assertEquals(last - first + 1, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(first + i, events.get(i).getSequence());
+        }
+    }
+
+    private static Employee employee(int id) {
+        return new Employee(id, "First" + id, "Last" + id, "e" + id + "@example.com", null,
+                            LocalDate.of(2020, 1, 1), "A job title long enough to fill segments quickly", 50_000 + id);
+    }
+}
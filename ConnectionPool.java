@@ -0,0 +1,385 @@
+// src/main/java/com/ems/util/ConnectionPool.java
+package com.ems.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small fixed-size JDBC connection pool.
+ * Connections handed out are proxies: calling close() returns the underlying
+ * connection to the pool instead of closing it. Each underlying connection can keep
+ * a StatementCache, so prepareStatement() reuses statements across borrows.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final String SHUT_DOWN = "Connection pool is shut down";
+
+    private final String url;
+    private final Properties properties;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Connection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    // Metrics
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+
+    public ConnectionPool(String url, Properties properties, int maxSize,
+                          long borrowTimeoutMillis, int validationTimeoutSeconds) {
+        this(url, properties, maxSize, borrowTimeoutMillis, validationTimeoutSeconds, 0);
+    }
+
+    // statementCacheSize: idle prepared statements kept per connection, 0 to disable
+    public ConnectionPool(String url, Properties properties, int maxSize,
+                          long borrowTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.url = url;
+        this.properties = properties != null ? properties : new Properties();
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    // --- BORROW ---
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException(SHUT_DOWN);
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis +
+                                          " ms waiting for a database connection (pool size " + maxSize + ")");
+        }
+
+        try {
+            if (closed) { // close() ran while this borrower waited for a permit
+                throw new SQLException(SHUT_DOWN);
+            }
+            Connection raw = takeValidIdle();
+            if (raw == null) {
+                raw = DriverManager.getConnection(url, properties);
+                open.incrementAndGet();
+                created.increment();
+                if (statementCacheSize > 0) {
+                    statementCaches.put(raw, new StatementCache(raw, statementCacheSize, statementHits,
+                                                                statementMisses, statementEvictions));
+                }
+            }
+            if (closed) { // close() drained the idle connections while this one was taken or opened
+                discard(raw);
+                throw new SQLException(SHUT_DOWN);
+            }
+            // From here a close() leaves this connection to release(), which discards it on return
+            active.incrementAndGet();
+            borrows.increment();
+            return wrap(raw);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeValidIdle() {
+        Connection raw;
+        while ((raw = idle.pollFirst()) != null) {
+            if (isValid(raw)) {
+                return raw;
+            }
+            discard(raw);
+        }
+        return null;
+    }
+
+    private boolean isValid(Connection raw) {
+        try {
+            return !raw.isClosed() && raw.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // --- RETURN ---
+    private void release(Connection raw) {
+        active.decrementAndGet();
+        try {
+            if (closed || !reset(raw)) {
+                discard(raw);
+            } else {
+                idle.offerFirst(raw); // LIFO keeps the hottest connections in use
+                if (closed && idle.remove(raw)) {
+                    discard(raw);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Undo whatever the borrower left behind so the next borrower gets a clean connection
+    private boolean reset(Connection raw) {
+        try {
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection raw) {
+        open.decrementAndGet();
+        discarded.increment();
+        StatementCache statements = statementCaches.remove(raw);
+        if (statements != null) {
+            statements.close();
+        }
+        try {
+            raw.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // --- SHUTDOWN ---
+    @Override
+    public void close() {
+        closed = true;
+        Connection raw;
+        while ((raw = idle.pollFirst()) != null) {
+            discard(raw);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // --- METRICS ---
+    public Stats getStats() {
+        long borrowCount = borrows.sum();
+        long waitNanos = totalWaitNanos.sum();
+        return new Stats(maxSize, active.get(), idle.size(), open.get(), created.sum(), discarded.sum(),
+                         borrowCount, timeouts.sum(),
+                         borrowCount == 0 ? 0 : waitNanos / borrowCount, maxWaitNanos.get(),
+                         statementHits.sum(), statementMisses.sum(), statementEvictions.sum());
+    }
+
+    public static class Stats {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final int open;
+        private final long created;
+        private final long discarded;
+        private final long borrows;
+        private final long timeouts;
+        private final long averageWaitNanos;
+        private final long maxWaitNanos;
+        private final long statementHits;
+        private final long statementMisses;
+        private final long statementEvictions;
+
+        Stats(int maxSize, int active, int idle, int open, long created, long discarded,
+              long borrows, long timeouts, long averageWaitNanos, long maxWaitNanos,
+              long statementHits, long statementMisses, long statementEvictions) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.open = open;
+            this.created = created;
+            this.discarded = discarded;
+            this.borrows = borrows;
+            this.timeouts = timeouts;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+            this.statementEvictions = statementEvictions;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getOpen() {
+            return open;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        public long getBorrows() {
+            return borrows;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getAverageWaitNanos() {
+            return averageWaitNanos;
+        }
+
+        public long getMaxWaitNanos() {
+            return maxWaitNanos;
+        }
+
+        public long getStatementHits() {
+            return statementHits;
+        }
+
+        public long getStatementMisses() {
+            return statementMisses;
+        }
+
+        public long getStatementEvictions() {
+            return statementEvictions;
+        }
+
+        public double getStatementHitRate() {
+            long lookups = statementHits + statementMisses;
+            return lookups == 0 ? 0.0 : (double) statementHits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "size=" + maxSize +
+                   ", active=" + active +
+                   ", idle=" + idle +
+                   ", open=" + open +
+                   ", created=" + created +
+                   ", discarded=" + discarded +
+                   ", borrows=" + borrows +
+                   ", timeouts=" + timeouts +
+                   ", avgWait=" + TimeUnit.NANOSECONDS.toMicros(averageWaitNanos) + "us" +
+                   ", maxWait=" + TimeUnit.NANOSECONDS.toMicros(maxWaitNanos) + "us" +
+                   ", stmtHits=" + statementHits +
+                   ", stmtMisses=" + statementMisses +
+                   ", stmtEvictions=" + statementEvictions +
+                   ", stmtHitRate=" + String.format("%.1f%%", getStatementHitRate() * 100);
+        }
+    }
+
+    // --- PROXY ---
+    private Connection wrap(Connection raw) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(raw));
+    }
+
+    // prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) only
+    private static boolean isCacheable(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection raw;
+        private final StatementCache statements;
+        private boolean returned;
+
+        PooledConnectionHandler(Connection raw) {
+            this.raw = raw;
+            this.statements = statementCaches.get(raw);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(raw);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + raw + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if (statements != null && method.getName().equals("prepareStatement") && isCacheable(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        return statements.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+                    }
+                    try {
+                        return method.invoke(raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
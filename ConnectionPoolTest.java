@@ -0,0 +1,75 @@
+// src/test/java/com/ems/util/ConnectionPoolTest.java
+package com.ems.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shutdown of the pool: once close() has run, no borrower gets a connection, including one that
+ * was already waiting for a permit, and every physical connection ends up closed.
+ */
+class ConnectionPoolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void borrowerWaitingDuringCloseGetsNoConnection() throws Exception {
+        ConnectionPool pool = newPool();
+        Connection held = pool.getConnection();
+
+        AtomicReference<Object> outcome = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                outcome.set(pool.getConnection());
+            } catch (SQLException e) {
+                outcome.set(e);
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.TIMED_WAITING) { // Parked on the permit
+            Thread.sleep(1);
+        }
+
+        pool.close();
+        held.close(); // Hands the permit to the waiter
+        waiter.join(10_000);
+        assertFalse(waiter.isAlive());
+        assertTrue(outcome.get() instanceof SQLException, "waiter got " + outcome.get());
+        assertTrue(((SQLException) outcome.get()).getMessage().contains("shut down"));
+
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(0, stats.getOpen(), stats.toString());
+        assertEquals(0, stats.getActive(), stats.toString());
+        assertEquals(1, stats.getBorrows(), stats.toString());
+    }
+
+    @Test
+    void connectionsBorrowedBeforeCloseAreClosedOnReturn() throws SQLException {
+        ConnectionPool pool = newPool();
+        Connection held = pool.getConnection();
+        pool.close();
+        assertTrue(pool.isClosed());
+        assertThrows(SQLException.class, pool::getConnection);
+
+        assertTrue(held.isValid(1), "a borrowed connection stays usable until it is returned");
+        held.close();
+        assertEquals(0, pool.getStats().getOpen());
+        assertEquals(0, pool.getStats().getIdle());
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    private ConnectionPool newPool() {
+        return new ConnectionPool("jdbc:sqlite:" + dir.resolve("pool.db"), null, 1, 5_000, 2, 4);
+    }
+}
@@ -0,0 +1,274 @@
+// src/main/java/com/ems/dao/DaoMetrics.java
+package com.ems.dao;
+
+import com.ems.util.DatabaseManager;
+import com.ems.util.Json;
+import com.ems.util.LatencyHistogram;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process call counts, error counts and latency histograms for every EmployeeDAO operation.
+ *
+ * Each call is split into phases: connect (borrowing a pooled connection), prepare, execute and
+ * map (reading rows into objects, up to the end of the call). Recording costs a handful of
+ * System.nanoTime() calls and atomic increments per call, so it stays on in production; it can be
+ * switched off with -Dems.metrics.enabled=false.
+ */
+public final class DaoMetrics {
+
+    public enum Phase {
+        CONNECT,
+        PREPARE,
+        EXECUTE,
+        MAP,
+        TOTAL
+    }
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("ems.metrics.enabled"));
+    private static final ConcurrentMap<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private DaoMetrics() {
+    }
+
+    // Registered once per DAO method, typically in a static final field
+    public static Operation operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, Operation::new);
+    }
+
+    public static Map<String, Operation> getOperations() {
+        return new TreeMap<>(OPERATIONS);
+    }
+
+    public static void reset() {
+        for (String name : OPERATIONS.keySet()) {
+            OPERATIONS.put(name, new Operation(name));
+        }
+    }
+
+    // --- Per operation ---
+    public static final class Operation {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> errorsByCode = new ConcurrentHashMap<>();
+        private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+
+        private Operation(String name) {
+            this.name = name;
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+
+        public Call start() {
+            if (!ENABLED) {
+                return Call.DISABLED;
+            }
+            // Look the operation up again so a reset() in between is respected
+            return new Call(OPERATIONS.getOrDefault(name, this));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        // SQLite result code (e.g. 19 = SQLITE_CONSTRAINT, 5 = SQLITE_BUSY) -> count
+        public Map<Integer, Long> getErrorsByCode() {
+            Map<Integer, Long> snapshot = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> entry : errorsByCode.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().sum());
+            }
+            return snapshot;
+        }
+
+        public LatencyHistogram getLatency(Phase phase) {
+            return phases[phase.ordinal()];
+        }
+    }
+
+    // --- Per call ---
+    // Not thread-safe; one Call belongs to one DAO invocation.
+    public static class Call {
+        static final Call DISABLED = new Call(null);
+
+        private final Operation operation;
+        private final long start;
+        private long mark;
+        private boolean failed;
+
+        private Call(Operation operation) {
+            this.operation = operation;
+            this.start = operation == null ? 0 : System.nanoTime();
+            this.mark = start;
+        }
+
+        private void phase(Phase phase) {
+            if (operation != null) {
+                long now = System.nanoTime();
+                operation.phases[phase.ordinal()].record(now - mark);
+                mark = now;
+            }
+        }
+
+        public Connection connect() throws SQLException {
+            Connection conn = DatabaseManager.getWriteConnection();
+            phase(Phase.CONNECT);
+            return conn;
+        }
+
+        public Connection connectForRead() throws SQLException {
+            Connection conn = DatabaseManager.getReadConnection();
+            phase(Phase.CONNECT);
+            return conn;
+        }
+
+        public PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+            PreparedStatement pstmt = conn.prepareStatement(sql);
+            phase(Phase.PREPARE);
+            return pstmt;
+        }
+
+        public PreparedStatement prepare(Connection conn, String sql, int autoGeneratedKeys) throws SQLException {
+            PreparedStatement pstmt = conn.prepareStatement(sql, autoGeneratedKeys);
+            phase(Phase.PREPARE);
+            return pstmt;
+        }
+
+        public Statement createStatement(Connection conn) throws SQLException {
+            Statement stmt = conn.createStatement();
+            phase(Phase.PREPARE);
+            return stmt;
+        }
+
+        public ResultSet executeQuery(PreparedStatement pstmt) throws SQLException {
+            ResultSet rs = pstmt.executeQuery();
+            phase(Phase.EXECUTE);
+            return rs;
+        }
+
+        public ResultSet executeQuery(Statement stmt, String sql) throws SQLException {
+            ResultSet rs = stmt.executeQuery(sql);
+            phase(Phase.EXECUTE);
+            return rs;
+        }
+
+        public int executeUpdate(PreparedStatement pstmt) throws SQLException {
+            int affectedRows = pstmt.executeUpdate();
+            phase(Phase.EXECUTE);
+            return affectedRows;
+        }
+
+        // For calls whose work does not split into the phases above (batches, multi-query reports)
+        public void executed() {
+            phase(Phase.EXECUTE);
+        }
+
+        public void fail(SQLException e) {
+            if (operation != null && !failed) {
+                failed = true;
+                operation.errors.increment();
+                operation.errorsByCode.computeIfAbsent(e.getErrorCode(), code -> new LongAdder()).increment();
+            }
+        }
+
+        // Records the map phase (time since the last phase) and the total; call once, in a finally block
+        public void end() {
+            if (operation != null) {
+                phase(Phase.MAP);
+                operation.calls.increment();
+                operation.phases[Phase.TOTAL.ordinal()].record(mark - start);
+            }
+        }
+    }
+
+    // --- Snapshots ---
+    public static String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %10s %8s  %-6s %10s %10s %10s %10s %10s %10s%n",
+                                "Operation", "Calls", "Errors", "Phase", "Mean(us)", "p50(us)", "p90(us)",
+                                "p99(us)", "p99.9(us)", "Max(us)"));
+        for (Operation op : getOperations().values()) {
+            if (op.getCalls() == 0) {
+                continue;
+            }
+            boolean first = true;
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram h = op.getLatency(phase);
+                if (h.getCount() == 0) {
+                    continue;
+                }
+                sb.append(String.format("%-22s %10s %8s  %-6s %10.1f",
+                                        first ? op.getName() : "",
+                                        first ? Long.toString(op.getCalls()) : "",
+                                        first ? Long.toString(op.getErrors()) : "",
+                                        phase.name().toLowerCase(), h.getMeanNanos() / 1000.0));
+                for (double p : REPORTED_PERCENTILES) {
+                    sb.append(String.format(" %10.1f", h.getValueAtPercentile(p) / 1000.0));
+                }
+                sb.append(String.format(" %10.1f%n", h.getMaxNanos() / 1000.0));
+                first = false;
+            }
+            if (!op.getErrorsByCode().isEmpty()) {
+                sb.append(String.format("%-22s errors by SQL code: %s%n", "", op.getErrorsByCode()));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String toJson() {
+        StringBuilder sb = new StringBuilder("{\"operations\":[");
+        boolean firstOp = true;
+        for (Operation op : getOperations().values()) {
+            if (!firstOp) sb.append(',');
+            firstOp = false;
+            sb.append("{\"name\":");
+            Json.appendString(sb, op.getName());
+            sb.append(",\"calls\":").append(op.getCalls())
+              .append(",\"errors\":").append(op.getErrors())
+              .append(",\"errorsByCode\":{");
+            boolean firstCode = true;
+            for (Map.Entry<Integer, Long> entry : op.getErrorsByCode().entrySet()) {
+                if (!firstCode) sb.append(',');
+                firstCode = false;
+                sb.append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+            }
+            sb.append("},\"latencyNanos\":{");
+            boolean firstPhase = true;
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram h = op.getLatency(phase);
+                if (!firstPhase) sb.append(',');
+                firstPhase = false;
+                sb.append('"').append(phase.name().toLowerCase()).append("\":{")
+                  .append("\"count\":").append(h.getCount())
+                  .append(",\"mean\":").append(Math.round(h.getMeanNanos()))
+                  .append(",\"p50\":").append(h.getValueAtPercentile(50))
+                  .append(",\"p90\":").append(h.getValueAtPercentile(90))
+                  .append(",\"p99\":").append(h.getValueAtPercentile(99))
+                  .append(",\"p999\":").append(h.getValueAtPercentile(99.9))
+                  .append(",\"max\":").append(h.getMaxNanos())
+                  .append('}');
+            }
+            sb.append("}}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,47 @@
+// src/main/java/com/ems/dao/DataAccessException.java
+package com.ems.dao;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * Unchecked wrapper for an SQLException raised by an EmployeeDAO operation, used by
+ * AsyncEmployeeDAO and StrictEmployeeDAO where the plain EmployeeDAO methods would print the
+ * error and return false/null/0, and by EmployeeDAO.streamAllEmployees, which cannot throw a
+ * checked exception mid-stream.
+ * translate() picks the most specific subclass so callers can react by type.
+ */
+public class DataAccessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // SQLite primary result codes
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    public static DataAccessException translate(String operation, SQLException e) {
+        String message = operation + " failed: " + e.getMessage();
+        if (EmployeeDAO.isDuplicateEmail(e)) {
+            return new DuplicateEmailException(message, e);
+        }
+        int primaryCode = e.getErrorCode() & 0xFF; // Extended codes keep the primary code in the low byte
+        if (e instanceof SQLTimeoutException || primaryCode == SQLITE_BUSY || primaryCode == SQLITE_LOCKED) {
+            return new TransientDataAccessException(message, e);
+        }
+        return new DataAccessException(message, e);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+
+    // SQLite result code of the underlying failure, e.g. 19 for SQLITE_CONSTRAINT
+    public int getErrorCode() {
+        return getCause().getErrorCode();
+    }
+}
@@ -0,0 +1,184 @@
+// src/test/java/com/ems/dao/DatabaseConcurrencyTest.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+import com.ems.util.ConnectionPool;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent mode (-Dems.db.concurrent=true): WAL, a pool of read-only connections and a single
+ * writer. Readers and writers run at once against a temp database; nobody may see SQLITE_BUSY,
+ * readers must see every row committed before they looked, and every connection must be back
+ * in its pool afterwards.
+ */
+class DatabaseConcurrencyTest {
+
+    private static final int READ_POOL_SIZE = 3;
+    private static final int WRITERS = 2;
+    private static final int READERS = 6;  // More than the read pool, so readers also queue for connections
+    private static final int ROWS_PER_WRITER = 200;
+
+    @TempDir
+    Path dir;
+
+    private EmployeeDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("concurrent.db"));
+        System.setProperty("ems.db.concurrent", "true");
+        System.setProperty("ems.db.poolSize", Integer.toString(READ_POOL_SIZE));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        dao = new EmployeeDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+        System.clearProperty("ems.db.concurrent");
+        System.clearProperty("ems.db.poolSize");
+    }
+
+    @Test
+    void readersSeeCommittedRowsWhileWritersWrite() throws Exception {
+        AtomicInteger committed = new AtomicInteger();     // Rows whose insert has returned
+        AtomicInteger lastCommittedId = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger reads = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(WRITERS + READERS);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(threads.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROWS_PER_WRITER; i++) {
+                    Employee employee = employee("w" + writer + "-" + i + "@example.com");
+                    if (!dao.insertEmployee(employee)) {
+                        failures.add(new AssertionError("insert of " + employee.getEmail() + " returned false"));
+                    }
+                    committed.incrementAndGet();
+                    lastCommittedId.accumulateAndGet(employee.getId(), Math::max);
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            readers.add(threads.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    int committedBefore = committed.get();
+                    int id = lastCommittedId.get();
+                    if (id > 0 && dao.selectEmployeeById(id) == null) {
+                        failures.add(new AssertionError("committed employee " + id + " not visible to a reader"));
+                    }
+                    int count = dao.countEmployees();
+                    if (count < committedBefore) {
+                        failures.add(new AssertionError("reader counted " + count + " rows after " + committedBefore + " commits"));
+                    }
+                    reads.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> writer : writers) {
+                collect(writer, failures);
+            }
+        } finally {
+            writing.set(false);
+        }
+        for (Future<?> reader : readers) {
+            collect(reader, failures);
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        assertTrue(reads.get() > 0, "readers ran while writers wrote");
+        assertEquals(WRITERS * ROWS_PER_WRITER, dao.countEmployees());
+        assertAllReturned(DatabaseManager.getPoolStats());
+        assertAllReturned(DatabaseManager.getReadPoolStats());
+        assertTrue(DatabaseManager.getReadPoolStats().getOpen() <= READ_POOL_SIZE);
+        assertEquals(1, DatabaseManager.getPoolStats().getMaxSize(), "a single writer connection");
+    }
+
+    @Test
+    void connectionsAreReturnedAfterFailedStatements() throws SQLException {
+        assertTrue(dao.insertEmployee(employee("dup@example.com")));
+        assertThrows(SQLException.class, () -> dao.insertEmployee(employee("dup@example.com")));
+        try (Connection conn = DatabaseManager.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM no_such_table"));
+        }
+        assertAllReturned(DatabaseManager.getPoolStats());
+        assertAllReturned(DatabaseManager.getReadPoolStats());
+        assertEquals(1, dao.countEmployees());
+    }
+
+    @Test
+    void databaseIsInWalModeAndReadersCannotWrite() throws SQLException {
+        try (Connection conn = DatabaseManager.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+                assertTrue(rs.next());
+                assertEquals("wal", rs.getString(1));
+            }
+            assertThrows(SQLException.class, () -> stmt.executeUpdate("DELETE FROM employees"));
+        }
+        assertAllReturned(DatabaseManager.getReadPoolStats());
+    }
+
+    private static void assertAllReturned(ConnectionPool.Stats stats) {
+        assertEquals(0, stats.getActive(), "connections still borrowed");
+        assertEquals(stats.getOpen(), stats.getIdle(), "every open connection is idle");
+        assertEquals(0, stats.getTimeouts(), "borrow timeouts");
+    }
+
+    // SQLITE_BUSY or any other failure inside a task is reported with the task's other failures
+    private static void collect(Future<?> task, Queue<Throwable> failures) throws InterruptedException {
+        try {
+            task.get(60, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            failures.add(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private static Employee employee(String email) {
+        return new Employee("Con", "Current", email, null, LocalDate.of(2021, 5, 17), "Engineer", 70_000);
+    }
+}
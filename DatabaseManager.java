@@ -2,36 +2,298 @@
 package com.ems.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
 
+/**
+ * Hands out pooled SQLite connections.
+ *
+ * By default one read-write pool serves everything. With -Dems.db.concurrent=true the database is
+ * switched to WAL and split into a pool of read-only connections plus a single writer connection:
+ * in WAL mode readers never block the writer or each other, and funnelling every write through
+ * one connection (callers queue fairly on the writer pool) means writers never race each other
+ * into SQLITE_BUSY.
+ */
 public class DatabaseManager {
-    private static final String URL = "jdbc:sqlite:employee_management.db"; // SQLite DB file name
+    private static final String DEFAULT_URL = "jdbc:sqlite:employee_management.db"; // SQLite DB file name
 
+    // Pool settings, overridable with -Dems.db.* system properties
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 5000;
+    private static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final int DEFAULT_BUSY_TIMEOUT_MILLIS = 5000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32; // Per connection; 0 disables
+
+    // Concurrent mode pragmas
+    private static final int DEFAULT_CACHE_SIZE_KIB = 16 * 1024;
+    private static final long DEFAULT_MMAP_SIZE = 256L * 1024 * 1024;
+    private static final int SQLITE_OPEN_READONLY = 0x01;
+
+    private static volatile ConnectionPool pool;
+    private static volatile ConnectionPool readPool; // Same as pool unless in concurrent mode
+
+    // Read-write connection; in concurrent mode this is the single writer
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL);
+        return getPool().getConnection();
+    }
+
+    public static Connection getWriteConnection() throws SQLException {
+        return getConnection();
+    }
+
+    // Read-only in concurrent mode, so it must not be used for INSERT/UPDATE/DELETE
+    public static Connection getReadConnection() throws SQLException {
+        getPool();
+        return readPool.getConnection();
+    }
+
+    public static boolean isConcurrent() {
+        return Boolean.getBoolean("ems.db.concurrent");
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseManager.class) {
+                current = pool;
+                if (current == null) {
+                    int poolSize = Integer.getInteger("ems.db.poolSize", DEFAULT_POOL_SIZE);
+                    if (isConcurrent()) {
+                        current = createPool(writerProperties(), 1);
+                        enableWal(current);
+                        readPool = createPool(readerProperties(), poolSize);
+                    } else {
+                        current = createPool(commonProperties(), poolSize);
+                        readPool = current;
+                    }
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ConnectionPool createPool(Properties properties, int size) {
+        return new ConnectionPool(
+                getUrl(),
+                properties,
+                size,
+                Long.getLong("ems.db.borrowTimeoutMillis", DEFAULT_BORROW_TIMEOUT_MILLIS),
+                Integer.getInteger("ems.db.validationTimeoutSeconds", DEFAULT_VALIDATION_TIMEOUT_SECONDS),
+                Integer.getInteger("ems.db.statementCacheSize", DEFAULT_STATEMENT_CACHE_SIZE));
+    }
+
+    // Keys are sqlite-jdbc pragma names; the driver applies them to every new connection
+    private static Properties commonProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout",
+                               Integer.toString(Integer.getInteger("ems.db.busyTimeoutMillis", DEFAULT_BUSY_TIMEOUT_MILLIS)));
+        return properties;
+    }
+
+    private static Properties tunedProperties() {
+        Properties properties = commonProperties();
+        properties.setProperty("synchronous", "NORMAL"); // In WAL mode this only risks the last commits on power loss, never corruption
+        properties.setProperty("cache_size", Integer.toString(-Integer.getInteger("ems.db.cacheSizeKib", DEFAULT_CACHE_SIZE_KIB)));
+        properties.setProperty("mmap_size", Long.toString(Long.getLong("ems.db.mmapSize", DEFAULT_MMAP_SIZE)));
+        return properties;
+    }
+
+    private static Properties writerProperties() {
+        Properties properties = tunedProperties();
+        properties.setProperty("journal_mode", "WAL");
+        return properties;
+    }
+
+    private static Properties readerProperties() {
+        Properties properties = tunedProperties();
+        properties.setProperty("open_mode", Integer.toString(SQLITE_OPEN_READONLY));
+        return properties;
+    }
+
+    // WAL is a property of the database file, so it has to be switched on (and the file created)
+    // through the writer before any read-only connection opens it
+    private static void enableWal(ConnectionPool writer) {
+        try (Connection conn = writer.getConnection()) {
+            conn.isValid(0);
+        } catch (SQLException e) {
+            System.err.println("Error enabling WAL mode: " + e.getMessage());
+        }
+    }
+
+    public static String getUrl() {
+        return System.getProperty("ems.db.url", DEFAULT_URL);
+    }
+
+    // Active/idle counts and borrow wait times, for sizing the pool (the writer in concurrent mode)
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
     }
 
-    public static void initializeDatabase() {
+    public static ConnectionPool.Stats getReadPoolStats() {
+        getPool();
+        return readPool.getStats();
+    }
+
+    // Closes every pooled connection; the next getConnection() starts a fresh pool
+    public static synchronized void shutdown() {
+        ConnectionPool current = pool;
+        ConnectionPool currentReaders = readPool;
+        pool = null;
+        readPool = null;
+        if (currentReaders != null && currentReaders != current) {
+            currentReaders.close();
+        }
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // Bumped with each migration below; stored in the database as PRAGMA user_version
+    public static final int SCHEMA_VERSION = 3;
+
+    // Creates or migrates the schema; false if the database could not be opened or brought up to
+    // date. A database already at SCHEMA_VERSION costs one PRAGMA read and no DDL, which keeps
+    // short-lived runs (batch mode, cron jobs) from paying for schema checks on every start.
+    public static boolean initializeDatabase() {
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
 
-            String sql = "CREATE TABLE IF NOT EXISTS employees (" +
-                         "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                         "first_name TEXT NOT NULL," +
-                         "last_name TEXT NOT NULL," +
-                         "email TEXT UNIQUE NOT NULL," +
-                         "phone_number TEXT," +
-                         "hire_date TEXT NOT NULL," + // Stored as YYYY-MM-DD
-                         "job_title TEXT NOT NULL," +
-                         "salary REAL NOT NULL" +
-                         ");";
-            stmt.execute(sql);
+            int version = userVersion(stmt);
+            if (version >= SCHEMA_VERSION) {
+                return true;
+            }
+            if (!tableExists(stmt, "employees")) {
+                stmt.execute(employeesTableSql("employees"));
+                createSearchIndex(stmt);
+                createIndexes(stmt);
+                stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION); // Last, so an interrupted setup is redone
+            } else {
+                migrate(conn, stmt, version);
+            }
             System.out.println("Database 'employee_management.db' initialized and 'employees' table ensured.");
+            return true;
 
         } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Indexes backing EmployeeCriteria filters and sorts
+    private static void createIndexes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_employees_job_title ON employees(job_title)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_employees_hire_date ON employees(hire_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_employees_salary ON employees(salary)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_employees_name ON employees(last_name, first_name)");
+    }
+
+    private static String employeesTableSql(String table) {
+        return "CREATE TABLE " + table + " (" +
+               "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+               "first_name TEXT NOT NULL," +
+               "last_name TEXT NOT NULL," +
+               "email TEXT UNIQUE NOT NULL," +
+               "phone_number TEXT," +
+               "hire_date INTEGER NOT NULL," + // Days since 1970-01-01 (LocalDate.toEpochDay)
+               "job_title TEXT NOT NULL," +
+               "salary REAL NOT NULL," +
+               "version INTEGER NOT NULL DEFAULT 1" + // Bumped by every update; see EmployeeDAO.updateEmployeeChanges
+               ");";
+    }
+
+    private static int userVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static boolean tableExists(Statement stmt, String table) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'")) {
+            return rs.next();
+        }
+    }
+
+    private static boolean columnExists(Statement stmt, String table, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM pragma_table_info('" + table + "') WHERE name = '" + column + "'")) {
+            return rs.next();
         }
     }
+
+    // Brings an existing database up to SCHEMA_VERSION in one transaction; a failed step leaves it untouched
+    private static void migrate(Connection conn, Statement stmt, int from) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            if (from < 1) {
+                migrateHireDateToEpochDay(stmt);
+            }
+            if (from < 2) {
+                createSearchIndex(stmt);
+                stmt.execute("INSERT INTO employees_fts(employees_fts) VALUES('rebuild')"); // Index the existing rows
+            }
+            if (from < 3 && !columnExists(stmt, "employees", "version")) { // A version 0 table was rebuilt with it above
+                // Version 3: row version for optimistic concurrency. A constant default makes this
+                // a schema-only change; existing rows are not rewritten.
+                stmt.execute("ALTER TABLE employees ADD COLUMN version INTEGER NOT NULL DEFAULT 1");
+            }
+            createIndexes(stmt);
+            stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            conn.commit();
+            System.out.println("Database schema migrated from version " + from + " to " + SCHEMA_VERSION + ".");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Version 1: hire_date from YYYY-MM-DD text to an epoch-day integer. SQLite cannot change a
+    // column's type in place, so the table is rebuilt, keeping ids and the AUTOINCREMENT counter.
+    private static void migrateHireDateToEpochDay(Statement stmt) throws SQLException {
+        long sequence = 0;
+        try (ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'employees'")) {
+            if (rs.next()) {
+                sequence = rs.getLong(1);
+            }
+        }
+        stmt.execute("DROP TABLE IF EXISTS employees_migration");
+        stmt.execute(employeesTableSql("employees_migration"));
+        stmt.execute("INSERT INTO employees_migration(id, first_name, last_name, email, phone_number, hire_date, job_title, salary) " +
+                     "SELECT id, first_name, last_name, email, phone_number, " +
+                     "CASE WHEN typeof(hire_date) = 'integer' THEN hire_date " +
+                     "ELSE CAST(julianday(hire_date) - 2440587.5 AS INTEGER) END, " + // Julian day of 1970-01-01
+                     "job_title, salary FROM employees");
+        stmt.execute("DROP TABLE employees"); // Drops its indexes too; migrate recreates them
+        stmt.execute("ALTER TABLE employees_migration RENAME TO employees");
+        if (stmt.executeUpdate("UPDATE sqlite_sequence SET seq = MAX(seq, " + sequence + ") WHERE name = 'employees'") == 0
+                && sequence > 0) {
+            stmt.executeUpdate("INSERT INTO sqlite_sequence(name, seq) VALUES('employees', " + sequence + ")"); // Table was empty
+        }
+    }
+
+    // Version 2: FTS5 index over names and email for EmployeeDAO.searchEmployees. It is an
+    // external-content table (it stores only the index, not a second copy of the text), kept in
+    // step with employees by triggers, so every writer, including raw SQL, updates it. Prefix
+    // indexes for 1-6 characters make a type-ahead prefix one term lookup instead of a merge of
+    // every term it covers; detail=column drops word positions, which prefix queries never use.
+    private static void createSearchIndex(Statement stmt) throws SQLException {
+        stmt.execute("CREATE VIRTUAL TABLE employees_fts USING fts5(" +
+                     "first_name, last_name, email, " +
+                     "content = 'employees', content_rowid = 'id', " +
+                     "prefix = '1 2 3 4 5 6', detail = column)");
+        stmt.execute("CREATE TRIGGER employees_fts_insert AFTER INSERT ON employees BEGIN " +
+                     "INSERT INTO employees_fts(rowid, first_name, last_name, email) " +
+                     "VALUES (new.id, new.first_name, new.last_name, new.email); END");
+        stmt.execute("CREATE TRIGGER employees_fts_delete AFTER DELETE ON employees BEGIN " +
+                     "INSERT INTO employees_fts(employees_fts, rowid, first_name, last_name, email) " +
+                     "VALUES ('delete', old.id, old.first_name, old.last_name, old.email); END");
+        stmt.execute("CREATE TRIGGER employees_fts_update AFTER UPDATE OF first_name, last_name, email ON employees BEGIN " +
+                     "INSERT INTO employees_fts(employees_fts, rowid, first_name, last_name, email) " +
+                     "VALUES ('delete', old.id, old.first_name, old.last_name, old.email); " +
+                     "INSERT INTO employees_fts(rowid, first_name, last_name, email) " +
+                     "VALUES (new.id, new.first_name, new.last_name, new.email); END");
+    }
 }
\ No newline at end of file
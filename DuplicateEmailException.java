@@ -0,0 +1,16 @@
+// src/main/java/com/ems/dao/DuplicateEmailException.java
+package com.ems.dao;
+
+import java.sql.SQLException;
+
+/**
+ * An insert or update hit the UNIQUE constraint on employees.email.
+ */
+public class DuplicateEmailException extends DataAccessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateEmailException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
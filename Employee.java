@@ -1,10 +1,23 @@
 // src/main/java/com/ems/model/Employee.java
 package com.ems.model;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 public class Employee {
+
+    // Updatable columns, for change tracking; see EmployeeDAO.updateEmployeeChanges
+    public enum Field {
+        FIRST_NAME, LAST_NAME, EMAIL, PHONE_NUMBER, HIRE_DATE, JOB_TITLE, SALARY
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+
     private int id;
     private String firstName;
     private String lastName;
@@ -13,6 +26,8 @@ public class Employee {
     private LocalDate hireDate;
     private String jobTitle;
     private double salary;
+    private int version;                   // Row version this object was read at; 0 if not read from the database
+    private int changedFields = ALL_FIELDS; // Bit per Field set since the row was read or saved
 
     // Constructor for creating new employees (ID is auto-generated by DB)
     public Employee(String firstName, String lastName, String email, String phoneNumber,
@@ -39,6 +54,14 @@ public class Employee {
         this.salary = salary;
     }
 
+    // Copy, including the version and which fields have changed
+    public Employee(Employee other) {
+        this(other.id, other.firstName, other.lastName, other.email, other.phoneNumber,
+             other.hireDate, other.jobTitle, other.salary);
+        this.version = other.version;
+        this.changedFields = other.changedFields;
+    }
+
     // Getters
     public int getId() {
         return id;
@@ -72,48 +95,152 @@ public class Employee {
         return salary;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     // Setters (if you need to modify Employee objects in memory before updating DB)
     public void setId(int id) {
         this.id = id;
     }
 
     public void setFirstName(String firstName) {
-        this.firstName = firstName;
+        if (!Objects.equals(this.firstName, firstName)) {
+            this.firstName = firstName;
+            markChanged(Field.FIRST_NAME);
+        }
     }
 
     public void setLastName(String lastName) {
-        this.lastName = lastName;
+        if (!Objects.equals(this.lastName, lastName)) {
+            this.lastName = lastName;
+            markChanged(Field.LAST_NAME);
+        }
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        if (!Objects.equals(this.email, email)) {
+            this.email = email;
+            markChanged(Field.EMAIL);
+        }
     }
 
     public void setPhoneNumber(String phoneNumber) {
-        this.phoneNumber = phoneNumber;
+        if (!Objects.equals(this.phoneNumber, phoneNumber)) {
+            this.phoneNumber = phoneNumber;
+            markChanged(Field.PHONE_NUMBER);
+        }
     }
 
     public void setHireDate(LocalDate hireDate) {
-        this.hireDate = hireDate;
+        if (!Objects.equals(this.hireDate, hireDate)) {
+            this.hireDate = hireDate;
+            markChanged(Field.HIRE_DATE);
+        }
     }
 
     public void setJobTitle(String jobTitle) {
-        this.jobTitle = jobTitle;
+        if (!Objects.equals(this.jobTitle, jobTitle)) {
+            this.jobTitle = jobTitle;
+            markChanged(Field.JOB_TITLE);
+        }
     }
 
     public void setSalary(double salary) {
-        this.salary = salary;
+        if (Double.compare(this.salary, salary) != 0) {
+            this.salary = salary;
+            markChanged(Field.SALARY);
+        }
+    }
+
+    // Set by the DAO from the row it read or wrote. Updating an Employee with a version only
+    // succeeds while the row is still at that version; with 0 the update is unconditional.
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    // --- Change tracking ---
+    // Setters mark a field only when its value actually changes. A new Employee counts every field
+    // as changed; one the DAO has read or saved starts with none.
+    public boolean isChanged(Field field) {
+        return (changedFields & (1 << field.ordinal())) != 0;
+    }
+
+    public boolean hasChanges() {
+        return changedFields != 0;
+    }
+
+    public Set<Field> getChangedFields() {
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (Field field : FIELDS) {
+            if (isChanged(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    // Every field is written by the next update, whether or not it changed
+    public void markAllChanged() {
+        changedFields = ALL_FIELDS;
+    }
+
+    // The object now matches the stored row
+    public void clearChanges() {
+        changedFields = 0;
+    }
+
+    private void markChanged(Field field) {
+        changedFields |= 1 << field.ordinal();
     }
 
+    // Built by hand: this runs for every row the CLI lists, and DateTimeFormatter.ofPattern and
+    // String.format each cost more than the rest of the method together
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return "ID: " + id +
-               ", Name: " + firstName + " " + lastName +
-               ", Email: " + email +
-               ", Phone: " + (phoneNumber != null ? phoneNumber : "N/A") +
-               ", Hire Date: " + hireDate.format(formatter) +
-               ", Job Title: " + jobTitle +
-               ", Salary: $" + String.format("%.2f", salary);
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("ID: ").append(id)
+          .append(", Name: ").append(firstName).append(' ').append(lastName)
+          .append(", Email: ").append(email)
+          .append(", Phone: ").append(phoneNumber != null ? phoneNumber : "N/A")
+          .append(", Hire Date: ");
+        appendDate(sb, hireDate);
+        sb.append(", Job Title: ").append(jobTitle)
+          .append(", Salary: $");
+        appendMoney(sb, salary);
+        return sb.toString();
+    }
+
+    // yyyy-MM-dd
+    private static void appendDate(StringBuilder sb, LocalDate date) {
+        if (date == null || date.getYear() < 0 || date.getYear() > 9999) {
+            sb.append(date);
+            return;
+        }
+        appendPadded(sb, date.getYear(), 4);
+        sb.append('-');
+        appendPadded(sb, date.getMonthValue(), 2);
+        sb.append('-');
+        appendPadded(sb, date.getDayOfMonth(), 2);
+    }
+
+    private static void appendPadded(StringBuilder sb, int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    // Two decimal places like String.format("%.2f"): rounded half up from the shortest decimal
+    // that reads back as the double, so 4189.855 prints as 4189.86 although the double is
+    // slightly below it, and a negative amount that rounds to zero keeps its sign
+    private static void appendMoney(StringBuilder sb, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            sb.append(amount);
+            return;
+        }
+        if (Math.copySign(1.0, amount) < 0) {
+            sb.append('-');
+        }
+        sb.append(BigDecimal.valueOf(Math.abs(amount)).setScale(2, RoundingMode.HALF_UP).toPlainString());
     }
 }
\ No newline at end of file
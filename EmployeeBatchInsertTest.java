@@ -0,0 +1,125 @@
+// src/test/java/com/ems/dao/EmployeeBatchInsertTest.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * addEmployees row outcomes: a chunk with a bad row is replayed row by row so only that row
+ * fails, and a chunk whose commit fails reports every row FAILED, with no IDs handed out and no
+ * listener events for rows that never reached the database.
+ */
+class EmployeeBatchInsertTest {
+
+    @TempDir
+    Path dir;
+
+    private EmployeeDAO dao;
+    private final List<Employee> added = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Foreign keys on, so a deferred constraint can make a commit fail
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("insert.db") + "?foreign_keys=on");
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        execute("CREATE TABLE badge_holders (email TEXT PRIMARY KEY)");
+        execute("CREATE TABLE badges (email TEXT REFERENCES badge_holders(email) DEFERRABLE INITIALLY DEFERRED)");
+        execute("CREATE TRIGGER issue_badge AFTER INSERT ON employees WHEN NEW.email LIKE 'unbadged%' "
+                + "BEGIN INSERT INTO badges VALUES (NEW.email); END");
+        dao = new EmployeeDAO();
+        dao.setBatchSize(3);
+        dao.addChangeListener(new EmployeeChangeListener() {
+            @Override
+            public void employeeSaved(Employee employee) {
+                added.add(employee);
+            }
+
+            @Override
+            public void employeeDeleted(int id) {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void badRowFailsAloneAndTheRestOfItsChunkCommits() {
+        assertTrue(dao.addEmployee(employee("taken")));
+        added.clear();
+        List<Employee> rows = Arrays.asList(employee("a"), employee("taken"), employee("b"), employee("c"));
+        BatchResult result = dao.addEmployees(rows);
+
+        assertEquals(BatchResult.Outcome.INSERTED, result.getOutcome(0));
+        assertEquals(BatchResult.Outcome.DUPLICATE_EMAIL, result.getOutcome(1));
+        assertEquals(BatchResult.Outcome.INSERTED, result.getOutcome(2));
+        assertEquals(BatchResult.Outcome.INSERTED, result.getOutcome(3));
+        assertEquals(0, result.getId(1));
+        assertEquals(0, rows.get(1).getId());
+        for (int i : new int[] {0, 2, 3}) {
+            Employee stored = dao.getEmployeeById(result.getId(i));
+            assertNotNull(stored);
+            assertEquals(rows.get(i).getEmail(), stored.getEmail());
+            assertEquals(result.getId(i), rows.get(i).getId());
+        }
+        assertEquals(Arrays.asList(rows.get(0), rows.get(2), rows.get(3)), added);
+        assertEquals(4, dao.getEmployeeCount());
+    }
+
+    @Test
+    void chunkWhoseCommitFailsReportsNoInsertedRows() {
+        // The first chunk commits; the second fails at COMMIT, both as a batch and when replayed
+        List<Employee> rows = Arrays.asList(employee("a"), employee("b"), employee("c"),
+                                            employee("d"), employee("taken"), employee("unbadged"));
+        assertTrue(dao.addEmployee(employee("taken")));
+        added.clear();
+        BatchResult result = dao.addEmployees(rows);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BatchResult.Outcome.INSERTED, result.getOutcome(i));
+        }
+        assertEquals(BatchResult.Outcome.FAILED, result.getOutcome(3));
+        assertEquals(BatchResult.Outcome.DUPLICATE_EMAIL, result.getOutcome(4));
+        assertEquals(BatchResult.Outcome.FAILED, result.getOutcome(5));
+        for (int i = 3; i < 6; i++) {
+            assertEquals(0, result.getId(i), "row " + i);
+            assertEquals(0, rows.get(i).getId(), "row " + i);
+        }
+        assertEquals(rows.subList(0, 3), added);
+        assertEquals(4, dao.getEmployeeCount());
+        assertEquals(3, result.getSuccessCount());
+    }
+
+    private static Employee employee(String name) {
+        return new Employee("First", name, name + "@example.com", null, LocalDate.of(2020, 1, 1), "Clerk", 40_000);
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
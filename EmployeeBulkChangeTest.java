@@ -0,0 +1,90 @@
+// src/test/java/com/ems/dao/EmployeeBulkChangeTest.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Set-based changes and the COUNT(*) the CLI confirms them with: the count agrees with what the
+ * change then touches, blank job titles are refused before anything runs, and without
+ * returnRows only the count comes back.
+ */
+class EmployeeBulkChangeTest {
+
+    @TempDir
+    Path dir;
+
+    private EmployeeDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("bulk.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        dao = new EmployeeDAO();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            employees.add(new Employee("First" + i, "Last" + i, "e" + i + "@example.com", null,
+                                       LocalDate.of(2010 + i % 10, 1, 1), i % 3 == 0 ? "Engineer" : "Clerk", 40_000));
+        }
+        assertEquals(30, dao.addEmployees(employees).getSuccessCount());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void countMatchesTheCriteriaAndIgnoresTheLimit() {
+        assertEquals(30, dao.getEmployeeCount(new EmployeeCriteria()));
+        assertEquals(10, dao.getEmployeeCount(new EmployeeCriteria().jobTitle("Engineer")));
+        assertEquals(10, dao.getEmployeeCount(new EmployeeCriteria().jobTitle("Engineer").limit(3)));
+        EmployeeCriteria hiredEarly = new EmployeeCriteria().jobTitle("Clerk").hiredBetween(null, LocalDate.of(2014, 12, 31));
+        assertEquals(dao.findEmployees(hiredEarly).size(), dao.getEmployeeCount(hiredEarly));
+        assertEquals(0, dao.getEmployeeCount(new EmployeeCriteria().jobTitle("Astronaut")));
+    }
+
+    @Test
+    void countIsWhatTheChangeThenTouches() {
+        EmployeeCriteria clerks = new EmployeeCriteria().jobTitle("Clerk");
+        int matching = dao.getEmployeeCount(clerks);
+        BulkResult raised = dao.adjustSalariesByPercent(clerks.limit(5), 10, false);
+        assertEquals(matching, raised.getCount());
+        assertTrue(raised.getBefore().isEmpty() && raised.getAfter().isEmpty(), "count only without returnRows");
+        assertEquals(matching, dao.getEmployeeCount(new EmployeeCriteria().minSalary(44_000)));
+
+        BulkResult deleted = dao.deleteEmployees(new EmployeeCriteria().jobTitle("Engineer"), false);
+        assertEquals(10, deleted.getCount());
+        assertTrue(deleted.getBefore().isEmpty());
+        assertEquals(20, dao.getEmployeeCount(new EmployeeCriteria()));
+    }
+
+    @Test
+    void reassignJobTitleRefusesBlankTitles() {
+        String[] blanks = {null, "", "   "};
+        for (String blank : blanks) {
+            assertThrows(IllegalArgumentException.class, () -> dao.reassignJobTitle(blank, "Engineer", false));
+            assertThrows(IllegalArgumentException.class, () -> dao.reassignJobTitle("Clerk", blank, false));
+        }
+        assertEquals(20, dao.getEmployeeCount(new EmployeeCriteria().jobTitle("Clerk")));
+
+        assertEquals(20, dao.reassignJobTitle("Clerk", "Associate", false).getCount());
+        assertEquals(20, dao.getEmployeeCount(new EmployeeCriteria().jobTitle("Associate")));
+    }
+}
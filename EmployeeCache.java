@@ -0,0 +1,186 @@
+// src/main/java/com/ems/dao/EmployeeCache.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU + TTL cache of employees keyed by ID, with a secondary index on email.
+ * Entries are stored and handed out as copies, so callers editing an Employee
+ * before calling updateEmployee() can never corrupt the cached row.
+ */
+public class EmployeeCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Integer, CachedEmployee> byId;
+    private final Map<String, Integer> idByEmail = new HashMap<>();
+
+    // Bumped on every write/invalidation; a read-through only populates if nothing changed meanwhile
+    private long writeStamp;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private static class CachedEmployee {
+        final Employee employee;
+        final long expiresAt;
+
+        CachedEmployee(Employee employee, long expiresAt) {
+            this.employee = employee;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public EmployeeCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.byId = new LinkedHashMap<Integer, CachedEmployee>(16, 0.75f, true) { // access order = LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedEmployee> eldest) {
+                if (size() > EmployeeCache.this.maxSize) {
+                    idByEmail.remove(eldest.getValue().employee.getEmail());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // --- LOOKUP ---
+    public synchronized Employee get(int id) {
+        CachedEmployee entry = byId.get(id);
+        if (entry != null && System.nanoTime() - entry.expiresAt >= 0) {
+            remove(id);
+            expirations.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.employee);
+    }
+
+    public synchronized Employee getByEmail(String email) {
+        Integer id = idByEmail.get(email);
+        if (id == null) {
+            misses.increment();
+            return null;
+        }
+        return get(id);
+    }
+
+    // Taken before a read-through query and passed to putIfUnchanged()
+    public synchronized long readStamp() {
+        return writeStamp;
+    }
+
+    // --- POPULATE ---
+    public synchronized void put(Employee employee) {
+        writeStamp++;
+        store(employee);
+    }
+
+    // Populates from a read unless a write or invalidation happened since readStamp() was taken
+    public synchronized void putIfUnchanged(Employee employee, long stamp) {
+        if (stamp == writeStamp) {
+            store(employee);
+        }
+    }
+
+    private void store(Employee employee) {
+        CachedEmployee previous = byId.get(employee.getId());
+        if (previous != null) {
+            idByEmail.remove(previous.employee.getEmail());
+        }
+        Employee stored = copy(employee);
+        byId.put(stored.getId(), new CachedEmployee(stored, System.nanoTime() + ttlNanos));
+        if (stored.getEmail() != null) {
+            idByEmail.put(stored.getEmail(), stored.getId());
+        }
+    }
+
+    // --- INVALIDATE ---
+    public synchronized void invalidate(int id) {
+        writeStamp++;
+        if (remove(id)) {
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void clear() {
+        writeStamp++;
+        invalidations.add(byId.size());
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    private boolean remove(int id) {
+        CachedEmployee entry = byId.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        idByEmail.remove(entry.employee.getEmail());
+        return true;
+    }
+
+    private static Employee copy(Employee e) {
+        return new Employee(e);
+    }
+
+    // --- METRICS ---
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + "/" + maxSize +
+               ", hits=" + getHits() +
+               ", misses=" + getMisses() +
+               ", hitRate=" + String.format("%.1f%%", getHitRate() * 100) +
+               ", evictions=" + getEvictions() +
+               ", expirations=" + getExpirations() +
+               ", invalidations=" + getInvalidations();
+    }
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/ems/dao/EmployeeChangeListener.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+/**
+ * Told about every row EmployeeDAO has written, after the write is committed, on the writing thread.
+ * The Employee passed in belongs to the caller and may change afterwards, so copy what you need.
+ * Listeners must be quick and must not call back into the DAO.
+ *
+ * The DAO calls employeeAdded, employeeUpdated and employeeDeleted(id, before); by default they
+ * forward to the two basic callbacks, which is all a listener that only tracks current state needs.
+ */
+public interface EmployeeChangeListener {
+
+    // An insert or update; employee.getId() is set
+    void employeeSaved(Employee employee);
+
+    void employeeDeleted(int id);
+
+    // True makes the DAO read each row before updating or deleting it, in the same transaction,
+    // so the callbacks below get the before-image. That costs a primary-key read per changed row.
+    default boolean wantsPreviousValues() {
+        return false;
+    }
+
+    default void employeeAdded(Employee employee) {
+        employeeSaved(employee);
+    }
+
+    // before is null unless a registered listener wantsPreviousValues()
+    default void employeeUpdated(Employee before, Employee after) {
+        employeeSaved(after);
+    }
+
+    default void employeeDeleted(int id, Employee before) {
+        employeeDeleted(id);
+    }
+}
@@ -0,0 +1,160 @@
+// src/main/java/com/ems/dao/EmployeeCriteria.java
+package com.ems.dao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter, sort and limit for EmployeeDAO.findEmployees(). Every condition that is set
+ * is ANDed together and compiled to parameterized SQL; unset conditions are ignored.
+ *
+ * <pre>
+ * new EmployeeCriteria().jobTitle("Engineer")
+ *                       .hiredBetween(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))
+ *                       .minSalary(100_000)
+ *                       .sortBy(EmployeeCriteria.SortField.SALARY, false)
+ *                       .limit(50);
+ * </pre>
+ */
+public class EmployeeCriteria {
+
+    public enum SortField {
+        ID("id"),
+        LAST_NAME("last_name"),
+        HIRE_DATE("hire_date"),
+        JOB_TITLE("job_title"),
+        SALARY("salary");
+
+        private final String column;
+
+        SortField(String column) {
+            this.column = column;
+        }
+    }
+
+    private String jobTitle;
+    private String lastName;
+    private String lastNamePrefix;
+    private String firstName;
+    private LocalDate hiredFrom;
+    private LocalDate hiredTo;
+    private Double minSalary;
+    private Double maxSalary;
+    private SortField sortField = SortField.ID;
+    private boolean ascending = true;
+    private int limit;
+
+    public EmployeeCriteria jobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+        return this;
+    }
+
+    public EmployeeCriteria lastName(String lastName) {
+        this.lastName = lastName;
+        return this;
+    }
+
+    // Case-sensitive prefix match, answered as a range scan on the name index
+    public EmployeeCriteria lastNameStartsWith(String prefix) {
+        this.lastNamePrefix = prefix;
+        return this;
+    }
+
+    public EmployeeCriteria firstName(String firstName) {
+        this.firstName = firstName;
+        return this;
+    }
+
+    // Inclusive; either bound may be null
+    public EmployeeCriteria hiredBetween(LocalDate from, LocalDate to) {
+        this.hiredFrom = from;
+        this.hiredTo = to;
+        return this;
+    }
+
+    public EmployeeCriteria minSalary(double minSalary) {
+        this.minSalary = minSalary;
+        return this;
+    }
+
+    public EmployeeCriteria maxSalary(double maxSalary) {
+        this.maxSalary = maxSalary;
+        return this;
+    }
+
+    public EmployeeCriteria sortBy(SortField field, boolean ascending) {
+        this.sortField = field;
+        this.ascending = ascending;
+        return this;
+    }
+
+    // 0 means no limit
+    public EmployeeCriteria limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    // --- SQL ---
+    // Appends " WHERE ..." (or nothing) to sql and the matching bind values to params
+    void appendWhere(StringBuilder sql, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (jobTitle != null) {
+            conditions.add("job_title = ?");
+            params.add(jobTitle);
+        }
+        if (lastName != null) {
+            conditions.add("last_name = ?");
+            params.add(lastName);
+        }
+        if (lastNamePrefix != null && !lastNamePrefix.isEmpty()) {
+            conditions.add("last_name >= ? AND last_name < ?");
+            params.add(lastNamePrefix);
+            params.add(lastNamePrefix + Character.MAX_VALUE);
+        }
+        if (firstName != null) {
+            conditions.add("first_name = ?");
+            params.add(firstName);
+        }
+        if (hiredFrom != null) {
+            conditions.add("hire_date >= ?");
+            params.add(hiredFrom.toEpochDay());
+        }
+        if (hiredTo != null) {
+            conditions.add("hire_date <= ?");
+            params.add(hiredTo.toEpochDay());
+        }
+        if (minSalary != null) {
+            conditions.add("salary >= ?");
+            params.add(minSalary);
+        }
+        if (maxSalary != null) {
+            conditions.add("salary <= ?");
+            params.add(maxSalary);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    void appendOrderAndLimit(StringBuilder sql, List<Object> params) {
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ");
+        sql.append(sortField.column).append(direction);
+        if (sortField == SortField.LAST_NAME) {
+            sql.append(", first_name").append(direction);
+        }
+        if (sortField != SortField.ID) {
+            // Stable order for ties. Same direction as the sort, so a descending sort can walk its
+            // index backwards (index entries end with the rowid) instead of sorting the ties.
+            sql.append(", id").append(direction);
+        }
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+    }
+}
@@ -2,158 +2,1337 @@
 package com.ems.dao;
 
 import com.ems.model.Employee;
-import com.ems.util.DatabaseManager;
+
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class EmployeeDAO {
 
+    private static final String COLUMNS = "id, first_name, last_name, email, phone_number, hire_date, job_title, salary, version";
+    private static final String SELECT_SQL = "SELECT " + COLUMNS + " FROM employees";
+    private static final String INSERT_SQL = "INSERT INTO employees(first_name, last_name, email, phone_number, hire_date, job_title, salary) VALUES(?, ?, ?, ?, ?, ?, ?)";
+    // Whole-row update for updateEmployees. ?9 is the expected version; 0 skips the check.
+    private static final String UPDATE_SQL = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, phone_number = ?, " +
+                                             "hire_date = ?, job_title = ?, salary = ?, version = version + 1 " +
+                                             "WHERE id = ? AND (?9 = 0 OR version = ?9)";
+    // Column of each Employee.Field, in ordinal order
+    private static final String[] UPDATE_COLUMNS = {
+        "first_name", "last_name", "email", "phone_number", "hire_date", "job_title", "salary"
+    };
+    private static final Employee.Field[] FIELDS = Employee.Field.values();
+    private static final int VERSION_CHECKED = 1 << FIELDS.length;
+    // updateEmployeeChanges statements by changed-field mask, plus VERSION_CHECKED; built on first use
+    private static final String[] UPDATE_SQL_BY_MASK = new String[VERSION_CHECKED << 1];
+    private static final String HIRE_YEAR_SQL = "strftime('%Y', hire_date * 86400, 'unixepoch')"; // hire_date is an epoch day
+    // Rows whose names or email match an FTS5 expression (see DatabaseManager.createSearchIndex)
+    private static final String SEARCH_SQL = SELECT_SQL + " WHERE id IN " +
+                                             "(SELECT rowid FROM employees_fts WHERE employees_fts MATCH ? LIMIT ?)";
+    private static final int MIN_SEARCH_CANDIDATES = 200;
+    private static final String DUPLICATE_EMAIL = "UNIQUE constraint failed: employees.email";
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int ID_CHUNK_SIZE = 512; // Well under SQLite's host parameter limit
+
+    private static final DaoMetrics.Operation ADD = DaoMetrics.operation("addEmployee");
+    private static final DaoMetrics.Operation ADD_BATCH = DaoMetrics.operation("addEmployees");
+    private static final DaoMetrics.Operation GET_ALL = DaoMetrics.operation("getAllEmployees");
+    private static final DaoMetrics.Operation STREAM_ALL = DaoMetrics.operation("streamAllEmployees");
+    private static final DaoMetrics.Operation GET_PAGE = DaoMetrics.operation("getEmployeesPage");
+    private static final DaoMetrics.Operation GET_BY_ID = DaoMetrics.operation("getEmployeeById");
+    private static final DaoMetrics.Operation GET_BY_IDS = DaoMetrics.operation("getEmployeesByIds");
+    private static final DaoMetrics.Operation GET_BY_EMAIL = DaoMetrics.operation("getEmployeeByEmail");
+    private static final DaoMetrics.Operation FIND = DaoMetrics.operation("findEmployees");
+    private static final DaoMetrics.Operation SEARCH = DaoMetrics.operation("searchEmployees");
+    private static final DaoMetrics.Operation UPDATE = DaoMetrics.operation("updateEmployee");
+    private static final DaoMetrics.Operation UPDATE_BATCH = DaoMetrics.operation("updateEmployees");
+    private static final DaoMetrics.Operation DELETE = DaoMetrics.operation("deleteEmployee");
+    private static final DaoMetrics.Operation ADJUST_SALARIES = DaoMetrics.operation("adjustSalaries");
+    private static final DaoMetrics.Operation REASSIGN_JOB_TITLE = DaoMetrics.operation("reassignJobTitle");
+    private static final DaoMetrics.Operation DELETE_WHERE = DaoMetrics.operation("deleteEmployees");
+    private static final DaoMetrics.Operation COUNT = DaoMetrics.operation("getEmployeeCount");
+    private static final DaoMetrics.Operation SALARY_REPORT = DaoMetrics.operation("getSalaryReport");
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private final List<EmployeeChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Rows per transaction for addEmployees/updateEmployees
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // Listeners hear about every committed insert, update and delete made through this DAO
+    public void addChangeListener(EmployeeChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(EmployeeChangeListener listener) {
+        listeners.remove(listener);
+    }
+
     // --- CREATE ---
     public boolean addEmployee(Employee employee) {
-        String sql = "INSERT INTO employees(first_name, last_name, email, phone_number, hire_date, job_title, salary) VALUES(?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return insertEmployee(employee);
+        } catch (SQLException e) {
+            System.err.println("Error adding employee: " + e.getMessage());
+            // Specific error for unique constraint violation (email)
+            if (isDuplicateEmail(e)) {
+                System.err.println("Error: An employee with this email already exists.");
+            }
+        }
+        return false;
+    }
+
+    // Package-private cores like this one throw; the public methods report and swallow the
+    // SQLException, AsyncEmployeeDAO and StrictEmployeeDAO turn it into a DataAccessException
+    boolean insertEmployee(Employee employee) throws SQLException {
+        DaoMetrics.Call call = ADD.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setString(1, employee.getFirstName());
-            pstmt.setString(2, employee.getLastName());
-            pstmt.setString(3, employee.getEmail());
-            pstmt.setString(4, employee.getPhoneNumber());
-            pstmt.setString(5, employee.getHireDate().toString()); // Convert LocalDate to String for DB
-            pstmt.setString(6, employee.getJobTitle());
-            pstmt.setDouble(7, employee.getSalary());
+            bindEmployee(pstmt, employee);
 
-            int affectedRows = pstmt.executeUpdate();
+            int affectedRows = call.executeUpdate(pstmt);
 
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
-                        employee.setId(generatedKeys.getInt(1)); // Set the auto-generated ID back to the object
+                        inserted(employee, generatedKeys.getInt(1)); // Set the auto-generated ID back to the object
+                        fireAdded(employee);
                         return true;
                     }
                 }
             }
+            return false;
         } catch (SQLException e) {
-            System.err.println("Error adding employee: " + e.getMessage());
-            // Specific error for unique constraint violation (email)
-            if (e.getMessage().contains("UNIQUE constraint failed: employees.email")) {
-                System.err.println("Error: An employee with this email already exists.");
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    // --- BULK CREATE ---
+    // Inserts in chunks of batchSize rows, one transaction per chunk. A chunk that hits a bad row
+    // is rolled back and replayed row by row, so only the offending rows fail.
+    public BatchResult addEmployees(Collection<Employee> employees) {
+        List<Employee> rows = new ArrayList<>(employees);
+        BatchResult result = new BatchResult(rows.size());
+
+        DaoMetrics.Call call = ADD_BATCH.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, INSERT_SQL);
+             Statement lastId = conn.createStatement()) {
+
+            conn.setAutoCommit(false);
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                int to = Math.min(rows.size(), from + batchSize);
+                try {
+                    for (int i = from; i < to; i++) {
+                        bindEmployee(pstmt, rows.get(i));
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                    // SQLite hands out AUTOINCREMENT ids sequentially while this transaction holds the
+                    // write lock, so the chunk's ids end at last_insert_rowid()
+                    int id = lastInsertRowId(lastId) - (to - from);
+                    conn.commit();
+                    for (int i = from; i < to; i++) {
+                        id++;
+                        inserted(rows.get(i), id);
+                        result.succeeded(i, BatchResult.Outcome.INSERTED, id);
+                    }
+                } catch (SQLException e) {
+                    pstmt.clearBatch();
+                    conn.rollback();
+                    int[] ids = new int[to - from]; // 0 for a row that failed
+                    for (int i = from; i < to; i++) {
+                        try {
+                            bindEmployee(pstmt, rows.get(i));
+                            pstmt.executeUpdate();
+                            ids[i - from] = lastInsertRowId(lastId);
+                        } catch (SQLException rowError) {
+                            result.failed(i, failureOutcome(rowError), rowError.getMessage());
+                        }
+                    }
+                    // Only committed rows get their IDs; if the commit fails, failRemaining fails them all
+                    conn.commit();
+                    for (int i = from; i < to; i++) {
+                        if (ids[i - from] != 0) {
+                            inserted(rows.get(i), ids[i - from]);
+                            result.succeeded(i, BatchResult.Outcome.INSERTED, ids[i - from]);
+                        }
+                    }
+                }
             }
+            call.executed();
+        } catch (SQLException e) {
+            call.fail(e);
+            System.err.println("Error adding employees: " + e.getMessage());
+            failRemaining(result, e);
+        } finally {
+            call.end();
         }
-        return false;
+        fireAdded(result, rows);
+        return result;
     }
 
     // --- READ ALL ---
     public List<Employee> getAllEmployees() {
+        try {
+            return selectAllEmployees();
+        } catch (SQLException e) {
+            System.err.println("Error retrieving all employees: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    List<Employee> selectAllEmployees() throws SQLException {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT id, first_name, last_name, email, phone_number, hire_date, job_title, salary FROM employees";
 
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        DaoMetrics.Call call = GET_ALL.start();
+        try (Connection conn = call.connectForRead();
+             Statement stmt = call.createStatement(conn);
+             ResultSet rs = call.executeQuery(stmt, SELECT_SQL)) {
 
             while (rs.next()) {
-                employees.add(new Employee(
-                    rs.getInt("id"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("email"),
-                    rs.getString("phone_number"),
-                    LocalDate.parse(rs.getString("hire_date")), // Convert String from DB to LocalDate
-                    rs.getString("job_title"),
-                    rs.getDouble("salary")
-                ));
+                employees.add(mapEmployee(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error retrieving all employees: " + e.getMessage());
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return employees;
+    }
+
+    // --- STREAM ALL ---
+    // Rows are read from an open cursor as the stream is consumed. The stream holds a pooled
+    // connection until it is closed, so always use it in try-with-resources. A database error,
+    // whether running the query or reading a later row, is thrown as a DataAccessException:
+    // a stream that just ended would look like a complete list.
+    public Stream<Employee> streamAllEmployees() {
+        DaoMetrics.Call call = STREAM_ALL.start(); // Ends when the stream is closed
+        Connection conn = null;
+        Statement stmt = null;
+        try {
+            conn = call.connectForRead();
+            stmt = call.createStatement(conn);
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            ResultSet rs = call.executeQuery(stmt, SELECT_SQL + " ORDER BY id");
+            return StreamSupport.stream(new ResultSetSpliterator(rs, call), false)
+                                .onClose(closer(rs, stmt, conn, call));
+        } catch (SQLException e) {
+            call.fail(e);
+            closer(null, stmt, conn, call).run();
+            throw DataAccessException.translate("streamAllEmployees", e);
+        }
+    }
+
+    // --- READ PAGE ---
+    // Keyset pagination: pass 0 for the first page, then the ID of the last employee of the previous page.
+    public List<Employee> getEmployeesPage(int afterId, int limit) {
+        try {
+            return selectEmployeesPage(afterId, limit);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving employee page: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    List<Employee> selectEmployeesPage(int afterId, int limit) throws SQLException {
+        List<Employee> employees = new ArrayList<>(Math.min(limit, STREAM_FETCH_SIZE));
+        String sql = SELECT_SQL + " WHERE id > ? ORDER BY id LIMIT ?";
+        DaoMetrics.Call call = GET_PAGE.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
+
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = call.executeQuery(pstmt)) {
+                while (rs.next()) {
+                    employees.add(mapEmployee(rs));
+                }
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
         }
         return employees;
     }
 
     // --- READ BY ID ---
     public Employee getEmployeeById(int id) {
-        String sql = "SELECT id, first_name, last_name, email, phone_number, hire_date, job_title, salary FROM employees WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return selectEmployeeById(id);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving employee by ID: " + e.getMessage());
+        }
+        return null;
+    }
+
+    Employee selectEmployeeById(int id) throws SQLException {
+        String sql = SELECT_SQL + " WHERE id = ?";
+        DaoMetrics.Call call = GET_BY_ID.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
 
             pstmt.setInt(1, id);
-            try (ResultSet rs = pstmt.executeQuery()) {
+            try (ResultSet rs = call.executeQuery(pstmt)) {
                 if (rs.next()) {
-                    return new Employee(
-                        rs.getInt("id"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("email"),
-                        rs.getString("phone_number"),
-                        LocalDate.parse(rs.getString("hire_date")),
-                        rs.getString("job_title"),
-                        rs.getDouble("salary")
-                    );
+                    return mapEmployee(rs);
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error retrieving employee by ID: " + e.getMessage());
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return null; // Employee not found
+    }
+
+    // --- READ MANY BY ID ---
+    // One "id IN (...)" query per ID_CHUNK_SIZE ids instead of one query per id. Employees come
+    // back in the order of the first occurrence of their id; ids that do not exist are skipped.
+    public List<Employee> getEmployeesByIds(int... ids) {
+        try {
+            return selectEmployeesByIds(ids);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving employees by ID: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    List<Employee> selectEmployeesByIds(int... ids) throws SQLException {
+        int[] distinct = Arrays.stream(ids).distinct().toArray();
+        Map<Integer, Employee> found = new HashMap<>(distinct.length * 2);
+        if (distinct.length > 0) {
+            DaoMetrics.Call call = GET_BY_IDS.start();
+            try (Connection conn = call.connectForRead()) {
+                for (int from = 0; from < distinct.length; from += ID_CHUNK_SIZE) {
+                    int to = Math.min(distinct.length, from + ID_CHUNK_SIZE);
+                    // Pad the list to a power of two with a repeated id, so only a few distinct
+                    // statements ever reach the statement cache
+                    int slots = Math.max(8, Integer.highestOneBit(to - from - 1) << 1);
+                    try (PreparedStatement pstmt = call.prepare(conn, SELECT_SQL + " WHERE id IN (" + placeholders(slots) + ")")) {
+                        for (int slot = 0; slot < slots; slot++) {
+                            pstmt.setInt(slot + 1, distinct[Math.min(from + slot, to - 1)]);
+                        }
+                        try (ResultSet rs = call.executeQuery(pstmt)) {
+                            while (rs.next()) {
+                                Employee employee = mapEmployee(rs);
+                                found.put(employee.getId(), employee);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                call.fail(e);
+                throw e;
+            } finally {
+                call.end();
+            }
+        }
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (int id : distinct) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    // --- READ BY EMAIL ---
+    public Employee getEmployeeByEmail(String email) {
+        try {
+            return selectEmployeeByEmail(email);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving employee by email: " + e.getMessage());
+        }
+        return null;
+    }
+
+    Employee selectEmployeeByEmail(String email) throws SQLException {
+        String sql = SELECT_SQL + " WHERE email = ?";
+        DaoMetrics.Call call = GET_BY_EMAIL.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
+
+            pstmt.setString(1, email);
+            try (ResultSet rs = call.executeQuery(pstmt)) {
+                if (rs.next()) {
+                    return mapEmployee(rs);
+                }
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
         }
         return null; // Employee not found
     }
 
+    // --- SEARCH ---
+    public List<Employee> findEmployees(EmployeeCriteria criteria) {
+        try {
+            return selectEmployees(criteria);
+        } catch (SQLException e) {
+            System.err.println("Error searching employees: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    List<Employee> selectEmployees(EmployeeCriteria criteria) throws SQLException {
+        List<Employee> employees = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = buildFindSql(criteria, params);
+        DaoMetrics.Call call = FIND.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
+
+            bindParameters(pstmt, params);
+            try (ResultSet rs = call.executeQuery(pstmt)) {
+                while (rs.next()) {
+                    employees.add(mapEmployee(rs));
+                }
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return employees;
+    }
+
+    // Type-ahead lookup on first name, last name and email. Every word of the query matches as a
+    // prefix, so "jo sm" finds John Smith and joan.smythe@example.com. Best matches come first,
+    // with name matches ranked above email matches.
+    public List<Employee> searchEmployees(String query, int limit) {
+        try {
+            return selectSearch(query, limit);
+        } catch (SQLException e) {
+            System.err.println("Error searching employees: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    // Candidates are capped, so a one-letter query costs no more than a full name: whole-word
+    // matches are fetched first, then prefix matches fill up the rest, and EmployeeSearch ranks them
+    List<Employee> selectSearch(String query, int limit) throws SQLException {
+        List<String> terms = EmployeeSearch.terms(query);
+        if (terms.isEmpty() || limit < 1) {
+            return new ArrayList<>();
+        }
+        int candidates = Math.max(limit * 4, MIN_SEARCH_CANDIDATES);
+        Map<Integer, Employee> found = new LinkedHashMap<>();
+        DaoMetrics.Call call = SEARCH.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, SEARCH_SQL)) {
+
+            for (boolean prefix : new boolean[] {false, true}) {
+                pstmt.setString(1, EmployeeSearch.matchExpression(terms, prefix));
+                pstmt.setInt(2, candidates);
+                try (ResultSet rs = call.executeQuery(pstmt)) {
+                    while (rs.next() && found.size() < candidates) {
+                        Employee employee = mapEmployee(rs);
+                        found.putIfAbsent(employee.getId(), employee);
+                    }
+                }
+                if (found.size() >= candidates) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return EmployeeSearch.rank(found.values(), terms, limit);
+    }
+
     // --- UPDATE ---
+    // True if the changes were saved or there were none; a conflicting or missing row gives false
     public boolean updateEmployee(Employee employee) {
-        String sql = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, phone_number = ?, " +
-                     "hire_date = ?, job_title = ?, salary = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, employee.getFirstName());
-            pstmt.setString(2, employee.getLastName());
-            pstmt.setString(3, employee.getEmail());
-            pstmt.setString(4, employee.getPhoneNumber());
-            pstmt.setString(5, employee.getHireDate().toString());
-            pstmt.setString(6, employee.getJobTitle());
-            pstmt.setDouble(7, employee.getSalary());
-            pstmt.setInt(8, employee.getId()); // WHERE clause
-
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+        UpdateResult result = updateEmployeeChanges(employee);
+        if (result == UpdateResult.CONFLICT) {
+            System.err.println("Error updating employee: employee " + employee.getId()
+                               + " was changed by someone else since it was read. Reload it and try again.");
+        }
+        return result != null && result.isSuccess();
+    }
 
+    // Writes only the fields changed since the employee was read or saved (Employee.isChanged),
+    // and bumps the row's version. If the employee carries a version (it came from this DAO), the
+    // write only happens while the row is still at that version, so a concurrent edit comes back
+    // as CONFLICT instead of being overwritten. An employee without a version (0, e.g. built by
+    // hand) replaces every column unconditionally, as before. Null on a database error.
+    public UpdateResult updateEmployeeChanges(Employee employee) {
+        try {
+            return updateEmployeeRow(employee);
         } catch (SQLException e) {
             System.err.println("Error updating employee: " + e.getMessage());
-            if (e.getMessage().contains("UNIQUE constraint failed: employees.email")) {
+            if (isDuplicateEmail(e)) {
                 System.err.println("Error: An employee with this email already exists.");
             }
         }
-        return false;
+        return null;
+    }
+
+    UpdateResult updateEmployeeRow(Employee employee) throws SQLException {
+        boolean checked = employee.getVersion() > 0;
+        int mask = checked ? changedFieldMask(employee) : VERSION_CHECKED - 1;
+        if (mask == 0) {
+            return UpdateResult.UNCHANGED;
+        }
+        boolean capture = wantsPreviousValues();
+        DaoMetrics.Call call = UPDATE.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, updateSql(mask | (checked ? VERSION_CHECKED : 0)))) {
+
+            int index = 1;
+            for (Employee.Field field : FIELDS) {
+                if ((mask & (1 << field.ordinal())) != 0) {
+                    bindField(pstmt, index++, employee, field);
+                }
+            }
+            pstmt.setInt(index++, employee.getId()); // WHERE clause
+            if (checked) {
+                pstmt.setInt(index, employee.getVersion());
+            }
+
+            Employee before = null;
+            int version;
+            if (capture) {
+                beginImmediate(conn);
+                try {
+                    before = selectForChange(conn, employee.getId()).get(employee.getId());
+                    version = executeVersioned(call, pstmt);
+                    conn.setAutoCommit(true); // Commit
+                } finally {
+                    endImmediate(conn);
+                }
+            } else {
+                version = executeVersioned(call, pstmt);
+            }
+            if (version == 0) {
+                // Nothing matched: either the row is gone or its version moved on
+                boolean exists = capture ? before != null : checked && rowExists(conn, employee.getId());
+                return checked && exists ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+            }
+            employee.setVersion(version);
+            employee.clearChanges();
+            fireUpdated(before, employee);
+            return UpdateResult.UPDATED;
+
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    // Runs an UPDATE ... RETURNING version; the row's new version, or 0 if no row matched
+    private static int executeVersioned(DaoMetrics.Call call, PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = call.executeQuery(pstmt)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // e.g. "UPDATE employees SET salary = ?, version = version + 1 WHERE id = ? AND version = ? RETURNING version"
+    private static String updateSql(int key) {
+        String sql = UPDATE_SQL_BY_MASK[key];
+        if (sql == null) { // Racing threads build the same string; either copy will do
+            StringBuilder sb = new StringBuilder("UPDATE employees SET ");
+            for (Employee.Field field : FIELDS) {
+                if ((key & (1 << field.ordinal())) != 0) {
+                    sb.append(UPDATE_COLUMNS[field.ordinal()]).append(" = ?, ");
+                }
+            }
+            sb.append("version = version + 1 WHERE id = ?");
+            if ((key & VERSION_CHECKED) != 0) {
+                sb.append(" AND version = ?");
+            }
+            sql = sb.append(" RETURNING version").toString();
+            UPDATE_SQL_BY_MASK[key] = sql;
+        }
+        return sql;
+    }
+
+    private static int changedFieldMask(Employee employee) {
+        int mask = 0;
+        for (Employee.Field field : FIELDS) {
+            if (employee.isChanged(field)) {
+                mask |= 1 << field.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static void bindField(PreparedStatement pstmt, int index, Employee employee, Employee.Field field) throws SQLException {
+        switch (field) {
+            case FIRST_NAME:
+                pstmt.setString(index, employee.getFirstName());
+                break;
+            case LAST_NAME:
+                pstmt.setString(index, employee.getLastName());
+                break;
+            case EMAIL:
+                pstmt.setString(index, employee.getEmail());
+                break;
+            case PHONE_NUMBER:
+                pstmt.setString(index, employee.getPhoneNumber());
+                break;
+            case HIRE_DATE:
+                pstmt.setLong(index, employee.getHireDate().toEpochDay());
+                break;
+            case JOB_TITLE:
+                pstmt.setString(index, employee.getJobTitle());
+                break;
+            default:
+                pstmt.setDouble(index, employee.getSalary());
+        }
+    }
+
+    private static boolean rowExists(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM employees WHERE id = ?")) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // --- BULK UPDATE ---
+    // Same chunking and bad-row isolation as addEmployees; rows whose ID does not exist come back NOT_FOUND.
+    // Rows are written whole, but version-checked like updateEmployeeChanges: a row whose version
+    // moved on comes back CONFLICT.
+    public BatchResult updateEmployees(Collection<Employee> employees) {
+        List<Employee> rows = new ArrayList<>(employees);
+        BatchResult result = new BatchResult(rows.size());
+        boolean capture = wantsPreviousValues();
+        Map<Integer, Employee> before = capture ? new HashMap<>() : null;
+
+        DaoMetrics.Call call = UPDATE_BATCH.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, UPDATE_SQL)) {
+
+            if (capture) {
+                beginImmediate(conn);
+            } else {
+                conn.setAutoCommit(false);
+            }
+            try {
+                updateChunks(conn, pstmt, rows, result, before);
+            } finally {
+                if (capture) {
+                    endImmediate(conn);
+                }
+            }
+            call.executed();
+        } catch (SQLException e) {
+            call.fail(e);
+            System.err.println("Error updating employees: " + e.getMessage());
+            failRemaining(result, e);
+        } finally {
+            call.end();
+        }
+        fireUpdated(result, rows, before);
+        return result;
+    }
+
+    // before collects the rows' before-images when it is not null
+    private void updateChunks(Connection conn, PreparedStatement pstmt, List<Employee> rows, BatchResult result,
+                              Map<Integer, Employee> before) throws SQLException {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(rows.size(), from + batchSize);
+            if (before != null) {
+                int[] ids = new int[to - from];
+                for (int i = from; i < to; i++) {
+                    ids[i - from] = rows.get(i).getId();
+                }
+                before.putAll(selectForChange(conn, ids));
+            }
+            try {
+                for (int i = from; i < to; i++) {
+                    bindUpdate(pstmt, rows.get(i));
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int i = from; i < to; i++) {
+                    recordUpdate(conn, result, i, rows.get(i), counts[i - from]);
+                }
+                conn.commit();
+                advanceVersions(result, rows, from, to);
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback();
+                for (int i = from; i < to; i++) {
+                    try {
+                        bindUpdate(pstmt, rows.get(i));
+                        recordUpdate(conn, result, i, rows.get(i), pstmt.executeUpdate());
+                    } catch (SQLException rowError) {
+                        result.failed(i, failureOutcome(rowError), rowError.getMessage());
+                    }
+                }
+                conn.commit();
+                advanceVersions(result, rows, from, to);
+            }
+        }
     }
 
     // --- DELETE ---
     public boolean deleteEmployee(int id) {
+        try {
+            return deleteEmployeeRow(id);
+        } catch (SQLException e) {
+            System.err.println("Error deleting employee: " + e.getMessage());
+        }
+        return false;
+    }
+
+    boolean deleteEmployeeRow(int id) throws SQLException {
         String sql = "DELETE FROM employees WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        boolean capture = wantsPreviousValues();
+        DaoMetrics.Call call = DELETE.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
 
             pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
+            Employee before = null;
+            int affectedRows;
+            if (capture) {
+                beginImmediate(conn);
+                try {
+                    before = selectForChange(conn, id).get(id);
+                    affectedRows = call.executeUpdate(pstmt);
+                    conn.setAutoCommit(true); // Commit
+                } finally {
+                    endImmediate(conn);
+                }
+            } else {
+                affectedRows = call.executeUpdate(pstmt);
+            }
+            if (affectedRows > 0) {
+                fireDeleted(id, before);
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting employee: " + e.getMessage());
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
         }
-        return false;
+    }
+
+    // --- SET-BASED UPDATE / DELETE ---
+    // Each of these is one statement in one transaction, however many rows match, instead of a
+    // read plus one update per row. Only the criteria's conditions are used; its sort and limit
+    // are ignored. With returnRows the result also carries every affected row before and after.
+    // Listeners hear about each row as for single-row writes. Null on a database error.
+
+    // Raises (or, if negative, cuts) the salaries of every matching employee by percent,
+    // rounded to the cent
+    public BulkResult adjustSalariesByPercent(EmployeeCriteria criteria, double percent, boolean returnRows) {
+        return adjustSalaries(criteria, 1 + percent / 100, 0, returnRows);
+    }
+
+    public BulkResult adjustSalariesByAmount(EmployeeCriteria criteria, double amount, boolean returnRows) {
+        return adjustSalaries(criteria, 1, amount, returnRows);
+    }
+
+    private BulkResult adjustSalaries(EmployeeCriteria criteria, double factor, double amount, boolean returnRows) {
+        try {
+            return updateSalaries(criteria, factor, amount, returnRows);
+        } catch (SQLException e) {
+            System.err.println("Error adjusting salaries: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // salary = salary * factor + amount, rounded to the cent
+    BulkResult updateSalaries(EmployeeCriteria criteria, double factor, double amount, boolean returnRows) throws SQLException {
+        return updateWhere(ADJUST_SALARIES, "salary = ROUND(salary * ? + ?, 2)", Arrays.asList(factor, amount),
+                           criteria, returnRows);
+    }
+
+    // Renames a job title on every employee that has it. A null or blank title is refused: as
+    // the new one it would blank out every match, as the old one it would match nothing.
+    public BulkResult reassignJobTitle(String from, String to, boolean returnRows) {
+        try {
+            return updateJobTitle(from, to, returnRows);
+        } catch (SQLException e) {
+            System.err.println("Error reassigning job title: " + e.getMessage());
+        }
+        return null;
+    }
+
+    BulkResult updateJobTitle(String from, String to, boolean returnRows) throws SQLException {
+        if (from == null || from.trim().isEmpty() || to == null || to.trim().isEmpty()) {
+            throw new IllegalArgumentException("Both job titles are required: from=" + from + ", to=" + to);
+        }
+        return updateWhere(REASSIGN_JOB_TITLE, "job_title = ?", Collections.singletonList(to),
+                           new EmployeeCriteria().jobTitle(from), returnRows);
+    }
+
+    // Refuses criteria without conditions rather than emptying the table
+    public BulkResult deleteEmployees(EmployeeCriteria criteria, boolean returnRows) {
+        try {
+            return deleteWhere(criteria, returnRows);
+        } catch (SQLException e) {
+            System.err.println("Error deleting employees: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Before-images are read in the same IMMEDIATE transaction as the update, only when someone
+    // needs them; after-images come back from the UPDATE itself through RETURNING
+    BulkResult updateWhere(DaoMetrics.Operation operation, String assignments, List<Object> assignmentParams,
+                           EmployeeCriteria criteria, boolean returnRows) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        List<Object> whereParams = new ArrayList<>();
+        criteria.appendWhere(where, whereParams);
+        boolean wantBefore = returnRows || wantsPreviousValues();
+        boolean wantAfter = returnRows || !listeners.isEmpty();
+        String sql = "UPDATE employees SET " + assignments + ", version = version + 1" + where
+                     + (wantAfter ? " RETURNING " + COLUMNS : "");
+        List<Object> params = new ArrayList<>(assignmentParams);
+        params.addAll(whereParams);
+
+        DaoMetrics.Call call = operation.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
+
+            bindParameters(pstmt, params);
+            Map<Integer, Employee> before = null;
+            List<Employee> after = new ArrayList<>();
+            int count;
+            if (wantBefore) {
+                beginImmediate(conn);
+                try {
+                    before = selectWhere(conn, where.toString(), whereParams);
+                    count = executeReturning(call, pstmt, after);
+                    conn.setAutoCommit(true); // Commit
+                } finally {
+                    endImmediate(conn);
+                }
+            } else if (wantAfter) {
+                count = executeReturning(call, pstmt, after);
+            } else {
+                count = call.executeUpdate(pstmt);
+            }
+
+            List<Employee> previous = new ArrayList<>(after.size());
+            for (Employee employee : after) {
+                Employee old = before == null ? null : before.get(employee.getId());
+                previous.add(old);
+                fireUpdated(old, employee);
+            }
+            return returnRows ? new BulkResult(count, previous, after) : BulkResult.countOnly(count);
+
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    // A DELETE ... RETURNING hands back the deleted rows, so before-images cost no extra read
+    BulkResult deleteWhere(EmployeeCriteria criteria, boolean returnRows) throws SQLException {
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        criteria.appendWhere(where, params);
+        if (where.length() == 0) {
+            throw new IllegalArgumentException("deleteEmployees needs at least one condition");
+        }
+        boolean wantRows = returnRows || !listeners.isEmpty();
+        String sql = "DELETE FROM employees" + where + (wantRows ? " RETURNING " + COLUMNS : "");
+
+        DaoMetrics.Call call = DELETE_WHERE.start();
+        try (Connection conn = call.connect();
+             PreparedStatement pstmt = call.prepare(conn, sql)) {
+
+            bindParameters(pstmt, params);
+            List<Employee> deleted = new ArrayList<>();
+            int count = wantRows ? executeReturning(call, pstmt, deleted) : call.executeUpdate(pstmt);
+            for (Employee employee : deleted) {
+                fireDeleted(employee.getId(), employee);
+            }
+            return returnRows ? new BulkResult(count, deleted, Collections.emptyList()) : BulkResult.countOnly(count);
+
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    // Runs a statement ending in RETURNING COLUMNS, collecting the rows; the number of rows
+    private static int executeReturning(DaoMetrics.Call call, PreparedStatement pstmt, List<Employee> rows) throws SQLException {
+        try (ResultSet rs = call.executeQuery(pstmt)) {
+            while (rs.next()) {
+                rows.add(mapEmployee(rs));
+            }
+        }
+        return rows.size();
+    }
+
+    private static Map<Integer, Employee> selectWhere(Connection conn, String where, List<Object> params) throws SQLException {
+        Map<Integer, Employee> rows = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SELECT_SQL + where)) {
+            bindParameters(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Employee employee = mapEmployee(rs);
+                    rows.put(employee.getId(), employee);
+                }
+            }
+        }
+        return rows;
     }
 
     // --- Reporting ---
     public int getEmployeeCount() {
+        try {
+            return countEmployees();
+        } catch (SQLException e) {
+            System.err.println("Error getting employee count: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    int countEmployees() throws SQLException {
         String sql = "SELECT COUNT(*) FROM employees";
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        DaoMetrics.Call call = COUNT.start();
+        try (Connection conn = call.connectForRead();
+             Statement stmt = call.createStatement(conn);
+             ResultSet rs = call.executeQuery(stmt, sql)) {
             if (rs.next()) {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("Error getting employee count: " + e.getMessage());
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
         }
         return 0;
     }
+
+    // Employees matching the criteria's conditions, counted in SQL; its sort and limit are
+    // ignored. -1 on a database error, since 0 is a real answer here.
+    public int getEmployeeCount(EmployeeCriteria criteria) {
+        try {
+            return countEmployees(criteria);
+        } catch (SQLException e) {
+            System.err.println("Error counting employees: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    int countEmployees(EmployeeCriteria criteria) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM employees");
+        List<Object> params = new ArrayList<>();
+        criteria.appendWhere(sql, params);
+        DaoMetrics.Call call = COUNT.start();
+        try (Connection conn = call.connectForRead();
+             PreparedStatement pstmt = call.prepare(conn, sql.toString())) {
+
+            bindParameters(pstmt, params);
+            try (ResultSet rs = call.executeQuery(pstmt)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    // --- Salary report ---
+    // Count/total/avg/min/max are grouped in SQL. Percentiles need every salary, so they are taken
+    // from one pass per grouping ordered by group, buffering only the current group in a double[].
+    // The job title pass also collects the workforce-wide percentiles.
+    public SalaryReport getSalaryReport() {
+        try {
+            return selectSalaryReport();
+        } catch (SQLException e) {
+            System.err.println("Error building salary report: " + e.getMessage());
+        }
+        return null;
+    }
+
+    SalaryReport selectSalaryReport() throws SQLException {
+        DaoMetrics.Call call = SALARY_REPORT.start();
+        try (Connection conn = call.connectForRead()) {
+            conn.setAutoCommit(false); // One read transaction, so every section sees the same rows
+            try {
+                SalaryStats overall = groupSalaryStats(conn, "'All Employees'").get("All Employees");
+                if (overall == null) {
+                    overall = new SalaryStats("All Employees", 0, 0, 0, 0, 0);
+                }
+                double[] allSalaries = new double[overall.getCount()];
+                Map<String, SalaryStats> byJobTitle = groupSalaryStats(conn, "job_title");
+                collectPercentiles(conn, "job_title", byJobTitle, allSalaries);
+                Arrays.sort(allSalaries);
+                overall.computePercentiles(allSalaries, allSalaries.length);
+
+                Map<String, SalaryStats> byYear = groupSalaryStats(conn, HIRE_YEAR_SQL);
+                collectPercentiles(conn, HIRE_YEAR_SQL, byYear, null);
+                call.executed();
+                LinkedHashMap<Integer, SalaryStats> byHireYear = new LinkedHashMap<>();
+                for (Map.Entry<String, SalaryStats> entry : byYear.entrySet()) {
+                    byHireYear.put(Integer.valueOf(entry.getKey()), entry.getValue());
+                }
+                return new SalaryReport(overall, new LinkedHashMap<>(byJobTitle), byHireYear);
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    private static Map<String, SalaryStats> groupSalaryStats(Connection conn, String groupBy) throws SQLException {
+        Map<String, SalaryStats> stats = new LinkedHashMap<>();
+        String sql = "SELECT " + groupBy + " AS grp, COUNT(*), SUM(salary), AVG(salary), MIN(salary), MAX(salary) " +
+                     "FROM employees GROUP BY grp ORDER BY grp";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                String group = rs.getString(1);
+                stats.put(group, new SalaryStats(group, rs.getInt(2), rs.getDouble(3), rs.getDouble(4),
+                                                 rs.getDouble(5), rs.getDouble(6)));
+            }
+        }
+        return stats;
+    }
+
+    // allSalaries, if given, is filled with every salary seen (it must be sized to the row count)
+    private static void collectPercentiles(Connection conn, String groupBy, Map<String, SalaryStats> stats,
+                                           double[] allSalaries) throws SQLException {
+        String sql = "SELECT " + groupBy + " AS grp, salary FROM employees ORDER BY grp";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                double[] salaries = new double[256];
+                int n = 0;
+                int seen = 0;
+                String current = null;
+                while (rs.next()) {
+                    String group = rs.getString(1);
+                    if (!group.equals(current)) {
+                        finishGroup(stats, current, salaries, n);
+                        current = group;
+                        n = 0;
+                    }
+                    if (n == salaries.length) {
+                        salaries = Arrays.copyOf(salaries, n * 2);
+                    }
+                    double salary = rs.getDouble(2);
+                    salaries[n++] = salary;
+                    if (allSalaries != null && seen < allSalaries.length) {
+                        allSalaries[seen++] = salary;
+                    }
+                }
+                finishGroup(stats, current, salaries, n);
+            }
+        }
+    }
+
+    private static void finishGroup(Map<String, SalaryStats> stats, String group, double[] salaries, int n) {
+        if (group != null) {
+            Arrays.sort(salaries, 0, n);
+            stats.get(group).computePercentiles(salaries, n);
+        }
+    }
+
+    // --- Helpers ---
+    // Columns by position, in SELECT_SQL order; every query mapped here selects SELECT_SQL's columns
+    private static Employee mapEmployee(ResultSet rs) throws SQLException {
+        Employee employee = new Employee(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            LocalDate.ofEpochDay(rs.getLong(6)),
+            JobTitleDictionary.canonical(rs.getString(7)),
+            rs.getDouble(8)
+        );
+        employee.setVersion(rs.getInt(9));
+        employee.clearChanges();
+        return employee;
+    }
+
+    // A newly inserted row starts at version 1 (the column default)
+    private static void inserted(Employee employee, int id) {
+        employee.setId(id);
+        employee.setVersion(1);
+        employee.clearChanges();
+    }
+
+    private static Runnable closer(ResultSet rs, Statement stmt, Connection conn, DaoMetrics.Call call) {
+        return () -> {
+            try {
+                if (rs != null) rs.close();
+                if (stmt != null) stmt.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing employee stream: " + e.getMessage());
+            } finally {
+                try {
+                    if (conn != null) conn.close(); // Hand the connection back to the pool
+                } catch (SQLException e) {
+                    System.err.println("Error closing employee stream: " + e.getMessage());
+                } finally {
+                    call.end();
+                }
+            }
+        };
+    }
+
+    private static void bindEmployee(PreparedStatement pstmt, Employee employee) throws SQLException {
+        pstmt.setString(1, employee.getFirstName());
+        pstmt.setString(2, employee.getLastName());
+        pstmt.setString(3, employee.getEmail());
+        pstmt.setString(4, employee.getPhoneNumber());
+        pstmt.setLong(5, employee.getHireDate().toEpochDay());
+        pstmt.setString(6, employee.getJobTitle());
+        pstmt.setDouble(7, employee.getSalary());
+    }
+
+    // Package-private so the query-plan test checks the same SQL findEmployees runs
+    static String buildFindSql(EmployeeCriteria criteria, List<Object> params) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        criteria.appendWhere(sql, params);
+        criteria.appendOrderAndLimit(sql, params);
+        return sql.toString();
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+
+    private static void bindParameters(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    private static int lastInsertRowId(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // --- Change listeners ---
+    private boolean wantsPreviousValues() {
+        for (EmployeeChangeListener listener : listeners) {
+            if (listener.wantsPreviousValues()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Current rows for ids, read on the caller's connection and so inside its transaction
+    private static Map<Integer, Employee> selectForChange(Connection conn, int... ids) throws SQLException {
+        Map<Integer, Employee> rows = new HashMap<>(ids.length * 2);
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            int to = Math.min(ids.length, from + ID_CHUNK_SIZE);
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_SQL + " WHERE id IN (" + placeholders(to - from) + ")")) {
+                for (int i = from; i < to; i++) {
+                    pstmt.setInt(i - from + 1, ids[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Employee employee = mapEmployee(rs);
+                        rows.put(employee.getId(), employee);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Before-images are read inside the write transaction. A deferred transaction that reads
+    // before it writes can be refused with SQLITE_BUSY when another connection starts writing in
+    // between, so these transactions take the write lock as they begin.
+    private static void beginImmediate(Connection conn) throws SQLException {
+        conn.unwrap(SQLiteConnection.class).setCurrentTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        conn.setAutoCommit(false);
+    }
+
+    // Rolls back whatever is still open and restores deferred transactions for the next borrower
+    private static void endImmediate(Connection conn) throws SQLException {
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            conn.unwrap(SQLiteConnection.class).setCurrentTransactionMode(SQLiteConfig.TransactionMode.DEFERRED);
+        }
+    }
+
+    private void fire(Consumer<EmployeeChangeListener> event) {
+        for (EmployeeChangeListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                System.err.println("Error in employee change listener: " + e.getMessage());
+            }
+        }
+    }
+
+    private void fireAdded(Employee employee) {
+        fire(listener -> listener.employeeAdded(employee));
+    }
+
+    private void fireAdded(BatchResult result, List<Employee> rows) {
+        if (!listeners.isEmpty()) {
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isSuccess(i)) {
+                    fireAdded(rows.get(i));
+                }
+            }
+        }
+    }
+
+    private void fireUpdated(Employee before, Employee after) {
+        fire(listener -> listener.employeeUpdated(before, after));
+    }
+
+    // before is null unless before-images were captured
+    private void fireUpdated(BatchResult result, List<Employee> rows, Map<Integer, Employee> before) {
+        if (!listeners.isEmpty()) {
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isSuccess(i)) {
+                    Employee after = rows.get(i);
+                    fireUpdated(before == null ? null : before.get(after.getId()), after);
+                }
+            }
+        }
+    }
+
+    private void fireDeleted(int id, Employee before) {
+        fire(listener -> listener.employeeDeleted(id, before));
+    }
+
+    // After a chunk commits, its updated rows are one version on. An employee updated without a
+    // version is left without one, since the batch does not read the new value back.
+    private static void advanceVersions(BatchResult result, List<Employee> rows, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Employee employee = rows.get(i);
+            if (result.isSuccess(i) && employee.getVersion() > 0) {
+                employee.setVersion(employee.getVersion() + 1);
+                employee.clearChanges();
+            }
+        }
+    }
+
+    private static void bindUpdate(PreparedStatement pstmt, Employee employee) throws SQLException {
+        bindEmployee(pstmt, employee);
+        pstmt.setInt(8, employee.getId());
+        pstmt.setInt(9, employee.getVersion());
+    }
+
+    // Runs inside the chunk's transaction, so a missed row's existence is checked at the same point in time
+    private static void recordUpdate(Connection conn, BatchResult result, int row, Employee employee, int affectedRows)
+            throws SQLException {
+        if (affectedRows > 0) {
+            result.succeeded(row, BatchResult.Outcome.UPDATED, employee.getId());
+        } else if (employee.getVersion() > 0 && rowExists(conn, employee.getId())) {
+            result.failed(row, BatchResult.Outcome.CONFLICT,
+                          "Employee with ID " + employee.getId() + " was changed since version " + employee.getVersion() + ".");
+        } else {
+            result.failed(row, BatchResult.Outcome.NOT_FOUND, "Employee with ID " + employee.getId() + " not found.");
+        }
+    }
+
+    // Rows not reached before a connection-level failure; committed chunks keep their outcome
+    private static void failRemaining(BatchResult result, SQLException e) {
+        for (int i = 0; i < result.size(); i++) {
+            if (result.getOutcome(i) == null) {
+                result.failed(i, BatchResult.Outcome.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    private static BatchResult.Outcome failureOutcome(SQLException e) {
+        return isDuplicateEmail(e) ? BatchResult.Outcome.DUPLICATE_EMAIL : BatchResult.Outcome.FAILED;
+    }
+
+    static boolean isDuplicateEmail(SQLException e) {
+        return e.getMessage() != null && e.getMessage().contains(DUPLICATE_EMAIL);
+    }
+
+    // Maps one row per tryAdvance(), so only the current row is ever materialized
+    private static class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Employee> {
+        private final ResultSet rs;
+        private final DaoMetrics.Call call;
+
+        ResultSetSpliterator(ResultSet rs, DaoMetrics.Call call) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.rs = rs;
+            this.call = call;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Employee> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapEmployee(rs));
+                return true;
+            } catch (SQLException e) {
+                call.fail(e);
+                throw DataAccessException.translate("streamAllEmployees", e); // The cursor is released by the stream's onClose
+            }
+        }
+    }
 }
\ No newline at end of file
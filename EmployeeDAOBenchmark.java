@@ -0,0 +1,140 @@
+// src/jmh/java/com/ems/bench/EmployeeDAOBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EmployeeDAO CRUD and scan costs against a seeded SQLite file, at several table sizes.
+ * Methods ending in "Concurrent" run the same operation from 4 threads sharing the DAO
+ * and the connection pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeDAOBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        dao = new EmployeeDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    // A row inserted before each invocation, so deleteEmployee always has something to delete
+    @State(Scope.Thread)
+    public static class Victim {
+        int id;
+
+        @Setup(Level.Invocation)
+        public void insert(EmployeeDAOBenchmark bench) {
+            Employee employee = bench.newEmployee();
+            bench.dao.addEmployee(employee);
+            id = employee.getId();
+        }
+    }
+
+    private Employee newEmployee() {
+        return BenchmarkDatabase.employee(ThreadLocalRandom.current(),
+                                          "new" + emailSequence.incrementAndGet() + "@bench.example");
+    }
+
+    private int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    // --- Single thread ---
+    @Benchmark
+    public boolean addEmployee() {
+        return dao.addEmployee(newEmployee());
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() {
+        return dao.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public boolean updateEmployee() {
+        int id = randomId();
+        // Seeded row N has id N + 1; reuse its email so the UNIQUE constraint never fires
+        Employee employee = BenchmarkDatabase.employee(ThreadLocalRandom.current(), "seed" + (id - 1) + "@bench.example");
+        employee.setId(id);
+        return dao.updateEmployee(employee);
+    }
+
+    @Benchmark
+    public boolean deleteEmployee(Victim victim) {
+        return dao.deleteEmployee(victim.id);
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return dao.getAllEmployees();
+    }
+
+    @Benchmark
+    public int getEmployeeCount() {
+        return dao.getEmployeeCount();
+    }
+
+    // --- Multi thread ---
+    @Benchmark
+    @Threads(4)
+    public boolean addEmployeeConcurrent() {
+        return addEmployee();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Employee getEmployeeByIdConcurrent() {
+        return getEmployeeById();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean updateEmployeeConcurrent() {
+        return updateEmployee();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getEmployeeCountConcurrent() {
+        return getEmployeeCount();
+    }
+}
@@ -0,0 +1,85 @@
+// src/jmh/java/com/ems/bench/EmployeeDAOConcurrencyBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput while a writer keeps updating rows, with the default single pool and with
+ * -Dems.db.concurrent (WAL, read-only reader pool, one writer). The group runs 4 readers and
+ * 1 writer; to see how reads scale with cores, vary the readers with e.g. -tg 1,1 / 2,1 / 8,1
+ * (thread counts are in method name order: read, then write).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class EmployeeDAOConcurrencyBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"false", "true"})
+    public boolean concurrent;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("ems.db.concurrent", Boolean.toString(concurrent));
+        System.setProperty("ems.db.poolSize", Integer.toString(Runtime.getRuntime().availableProcessors() + 1));
+        database = BenchmarkDatabase.create(ROWS);
+        dao = new EmployeeDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        System.clearProperty("ems.db.concurrent");
+        System.clearProperty("ems.db.poolSize");
+    }
+
+    private static int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(4)
+    public Employee read() {
+        return dao.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public boolean write() {
+        int id = randomId();
+        // Seeded row N has id N + 1; reuse its email so the UNIQUE constraint never fires
+        Employee employee = BenchmarkDatabase.employee(ThreadLocalRandom.current(), "seed" + (id - 1) + "@bench.example");
+        employee.setId(id);
+        return dao.updateEmployee(employee);
+    }
+}
@@ -0,0 +1,126 @@
+// src/test/java/com/ems/io/EmployeeExportImportTest.java
+package com.ems.io;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An export, plain or gzipped, in either format, imports into an empty database as the same
+ * employees: text that needs quoting or escaping, a missing phone number, and salaries that do
+ * not fit in two decimals all come back unchanged.
+ */
+class EmployeeExportImportTest {
+
+    private static final List<Employee> EMPLOYEES = Arrays.asList(
+        new Employee("Ada", "Lovelace", "ada@example.com", "555-0100", LocalDate.of(2019, 3, 1), "Engineer", 4189.855),
+        new Employee("Grace \"Amazing\"", "Hopper, Jr.", "grace@example.com", null, LocalDate.of(1999, 12, 31), "Rear Admiral", 0.1 + 0.2),
+        new Employee("Zo\u00eb", "\u00d1\u00fa\u00f1ez\\Line\nBreak", "zoe@example.com", "+34 600 000 000", LocalDate.of(2024, 2, 29), "Designer", 12_345_678.905),
+        new Employee("Min", "Salary", "min@example.com", "555-0199", LocalDate.of(1970, 1, 1), "Intern", Double.MIN_VALUE),
+        new Employee("Whole", "Number", "whole@example.com", "555-0123", LocalDate.of(2000, 6, 15), "Manager", 100_000));
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void csvRoundTrip() throws IOException {
+        roundTrip("employees.csv");
+    }
+
+    @Test
+    void gzippedCsvRoundTrip() throws IOException {
+        roundTrip("employees.csv.gz");
+    }
+
+    @Test
+    void jsonLinesRoundTrip() throws IOException {
+        roundTrip("employees.jsonl");
+    }
+
+    @Test
+    void gzippedJsonLinesRoundTrip() throws IOException {
+        roundTrip("employees.jsonl.gz");
+    }
+
+    private void roundTrip(String name) throws IOException {
+        useDatabase("source.db");
+        EmployeeDAO source = new EmployeeDAO();
+        source.addEmployees(copies());
+        List<Employee> exported = sorted(source.getAllEmployees());
+        assertEquals(EMPLOYEES.size(), exported.size());
+
+        Path file = dir.resolve(name);
+        ExportReport export = new EmployeeExporter().exportFile(file);
+        assertTrue(export.isComplete(), export.toString());
+        assertEquals(EMPLOYEES.size(), export.getRows());
+        assertEquals(name.endsWith(".gz"), isGzip(file), "gzip magic in " + name);
+
+        useDatabase("target.db");
+        EmployeeDAO target = new EmployeeDAO();
+        ImportReport report = new EmployeeImporter(target, 1).importFile(file);
+        assertTrue(report.isComplete(), report.toString());
+        assertEquals(0, report.getRejected(), report.getRejects().toString());
+        assertEquals(EMPLOYEES.size(), report.getImported());
+
+        List<Employee> imported = sorted(target.getAllEmployees());
+        for (int i = 0; i < exported.size(); i++) {
+            Employee expected = exported.get(i);
+            Employee actual = imported.get(i);
+            String email = expected.getEmail();
+            assertEquals(expected.getFirstName(), actual.getFirstName(), email);
+            assertEquals(expected.getLastName(), actual.getLastName(), email);
+            assertEquals(email, actual.getEmail());
+            assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber(), email);
+            assertEquals(expected.getHireDate(), actual.getHireDate(), email);
+            assertEquals(expected.getJobTitle(), actual.getJobTitle(), email);
+            assertEquals(Double.doubleToLongBits(expected.getSalary()), Double.doubleToLongBits(actual.getSalary()),
+                         email + ": " + expected.getSalary() + " came back as " + actual.getSalary());
+        }
+        assertFalse(Files.exists(EmployeeImporter.checkpointFile(file)), "checkpoint removed after a full import");
+    }
+
+    private void useDatabase(String name) {
+        DatabaseManager.shutdown();
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve(name));
+        assertTrue(DatabaseManager.initializeDatabase());
+    }
+
+    private static List<Employee> copies() {
+        return EMPLOYEES.stream().map(Employee::new).collect(Collectors.toList());
+    }
+
+    private static List<Employee> sorted(List<Employee> employees) {
+        employees.sort(Comparator.comparing(Employee::getEmail));
+        return employees;
+    }
+
+    private static boolean isGzip(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+// src/main/java/com/ems/io/EmployeeExporter.java
+package com.ems.io;
+
+import com.ems.util.DatabaseManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the employees table to CSV or JSON lines, optionally gzipped.
+ *
+ * Rows go straight from the ResultSet into a reusable ByteBuffer that is drained into a FileChannel:
+ * text columns are read as UTF-8 bytes, numbers and dates are written digit by digit, and no
+ * Employee or String is created per row. (The exceptions, which go through Double.toString and
+ * LocalDate, are a salary that needs 16 or more digits or more than 17 decimals, and a hire date
+ * outside years 0000-9999.) Memory use does not depend on the size of the table. The output uses the same
+ * column names as EmployeeImporter (plus id), so an export can be imported again.
+ */
+public class EmployeeExporter {
+
+    private static final String SQL = "SELECT id, first_name, last_name, email, phone_number, hire_date, job_title, salary " +
+                                      "FROM employees ORDER BY id";
+    private static final String[] COLUMNS = {"id", "first_name", "last_name", "email", "phone_number", "hire_date", "job_title", "salary"};
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int FETCH_SIZE = 1000;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17
+    };
+    private static final double[] NEAREST_FIRST = {0, -1, 1};
+    private static final double EXACT_INTEGERS = 9007199254740992.0; // 2^53: every smaller integer is an exact double
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] JSON_KEYS = new byte[COLUMNS.length][];
+
+    static {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            JSON_KEYS[i] = ((i == 0 ? "{\"" : ",\"") + COLUMNS[i] + "\":").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // Format from the extension (a trailing .gz is ignored); gzip if the name ends in .gz
+    public ExportReport exportFile(Path file) {
+        boolean gzip = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+        return exportFile(file, EmployeeImporter.Format.forFile(file), gzip);
+    }
+
+    public ExportReport exportFile(Path file, EmployeeImporter.Format format, boolean gzip) {
+        long start = System.nanoTime();
+        long rows = 0;
+        String failure = null;
+        Sink sink = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING);
+             Connection conn = DatabaseManager.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+
+            sink = new Sink(channel, gzip);
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(SQL)) {
+                if (format == EmployeeImporter.Format.CSV) {
+                    writeCsvHeader(sink);
+                    while (rs.next()) {
+                        writeCsvRow(sink, rs);
+                        rows++;
+                    }
+                } else {
+                    while (rs.next()) {
+                        writeJsonRow(sink, rs);
+                        rows++;
+                    }
+                }
+            }
+            sink.finish();
+        } catch (IOException | SQLException e) {
+            failure = e.getMessage();
+            System.err.println("Error exporting employees: " + e.getMessage());
+        }
+        long written = sink == null ? 0 : sink.fileBytes;
+        long produced = sink == null ? 0 : sink.producedBytes;
+        return new ExportReport(rows, written, produced, System.nanoTime() - start, failure);
+    }
+
+    // --- CSV ---
+    private static void writeCsvHeader(Sink out) throws IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) out.put((byte) ',');
+            out.put(COLUMNS[i].getBytes(StandardCharsets.US_ASCII));
+        }
+        out.put((byte) '\n');
+    }
+
+    private static void writeCsvRow(Sink out, ResultSet rs) throws IOException, SQLException {
+        out.putLong(rs.getInt(1));
+        for (int column = 2; column <= 5; column++) {
+            out.put((byte) ',');
+            writeCsvText(out, rs.getBytes(column));
+        }
+        out.put((byte) ',');
+        out.putDate(rs.getLong(6));
+        out.put((byte) ',');
+        writeCsvText(out, rs.getBytes(7));
+        out.put((byte) ',');
+        out.putSalary(rs.getDouble(8));
+        out.put((byte) '\n');
+    }
+
+    private static void writeCsvText(Sink out, byte[] utf8) throws IOException {
+        if (utf8 == null) {
+            return; // Empty field
+        }
+        boolean quote = false;
+        for (byte b : utf8) {
+            if (b == ',' || b == '"' || b == '\n' || b == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            out.put(utf8);
+            return;
+        }
+        out.put((byte) '"');
+        for (byte b : utf8) {
+            if (b == '"') out.put((byte) '"');
+            out.put(b);
+        }
+        out.put((byte) '"');
+    }
+
+    // --- JSON lines ---
+    private static void writeJsonRow(Sink out, ResultSet rs) throws IOException, SQLException {
+        out.put(JSON_KEYS[0]);
+        out.putLong(rs.getInt(1));
+        for (int column = 2; column <= 5; column++) {
+            out.put(JSON_KEYS[column - 1]);
+            writeJsonText(out, rs.getBytes(column));
+        }
+        out.put(JSON_KEYS[5]);
+        out.put((byte) '"');
+        out.putDate(rs.getLong(6));
+        out.put((byte) '"');
+        out.put(JSON_KEYS[6]);
+        writeJsonText(out, rs.getBytes(7));
+        out.put(JSON_KEYS[7]);
+        out.putSalary(rs.getDouble(8));
+        out.put((byte) '}');
+        out.put((byte) '\n');
+    }
+
+    private static void writeJsonText(Sink out, byte[] utf8) throws IOException {
+        if (utf8 == null) {
+            out.put(NULL);
+            return;
+        }
+        out.put((byte) '"');
+        for (byte b : utf8) {
+            if (b == '"' || b == '\\') {
+                out.put((byte) '\\');
+                out.put(b);
+            } else if (b >= 0 && b < 0x20) { // Multi-byte UTF-8 sequences are negative and pass through
+                out.put((byte) '\\');
+                out.put((byte) 'u');
+                out.put((byte) '0');
+                out.put((byte) '0');
+                out.put(HEX[b >> 4]);
+                out.put(HEX[b & 0xf]);
+            } else {
+                out.put(b);
+            }
+        }
+        out.put((byte) '"');
+    }
+
+    // --- Output ---
+    // Buffered byte writer over a FileChannel, with an optional gzip stage in between
+    private static class Sink {
+        private final FileChannel channel;
+        private final GZIPOutputStream gzip;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] digits = new byte[20];
+        private long producedBytes;
+        private long fileBytes;
+
+        Sink(FileChannel channel, boolean compress) throws IOException {
+            this.channel = channel;
+            if (compress) {
+                OutputStream out = Channels.newOutputStream(channel);
+                this.gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            } else {
+                this.gzip = null;
+            }
+        }
+
+        void put(byte b) throws IOException {
+            if (!buffer.hasRemaining()) drain();
+            buffer.put(b);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            if (buffer.remaining() < bytes.length) {
+                drain();
+                if (bytes.length > buffer.capacity()) {
+                    write(ByteBuffer.wrap(bytes));
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        void putLong(long value) throws IOException {
+            if (value < 0) {
+                put((byte) '-');
+                if (value == Long.MIN_VALUE) {
+                    put(Long.toString(value).substring(1).getBytes(StandardCharsets.US_ASCII));
+                    return;
+                }
+                value = -value;
+            }
+            int pos = digits.length;
+            do {
+                digits[--pos] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            if (buffer.remaining() < digits.length - pos) drain();
+            buffer.put(digits, pos, digits.length - pos);
+        }
+
+        // The stored double in full, not rounded to cents: these files are for re-import, and a
+        // rounded salary would change on the way back. Written in plain notation with the fewest
+        // decimals that parse back to the same double. A candidate r / 10^scale is checked by
+        // dividing in double arithmetic, which rounds exactly as parsing would while r < 2^53.
+        void putSalary(double salary) throws IOException {
+            if (Double.isNaN(salary) || Double.isInfinite(salary)) {
+                put(NULL);
+                return;
+            }
+            double magnitude = Math.abs(salary);
+            for (int scale = 0; scale < POWERS_OF_TEN.length; scale++) {
+                double scaled = magnitude * POWERS_OF_TEN[scale];
+                if (scaled + 1 >= EXACT_INTEGERS) {
+                    break;
+                }
+                double nearest = Math.rint(scaled); // The product may be rounded, so try its neighbours too
+                for (double offset : NEAREST_FIRST) {
+                    double candidate = nearest + offset;
+                    if (candidate >= 0 && candidate / POWERS_OF_TEN[scale] == magnitude) {
+                        if (Math.copySign(1.0, salary) < 0) {
+                            put((byte) '-');
+                        }
+                        putDecimal((long) candidate, scale);
+                        return;
+                    }
+                }
+            }
+            put(Double.toString(salary).getBytes(StandardCharsets.US_ASCII)); // Too many digits for the loop above
+        }
+
+        // value / 10^scale in plain notation, e.g. (418986, 2) as 4189.86 and (5, 3) as 0.005
+        private void putDecimal(long value, int scale) throws IOException {
+            int pos = digits.length;
+            for (int i = 0; i < scale; i++) {
+                digits[--pos] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            if (scale > 0) {
+                digits[--pos] = '.';
+            }
+            do {
+                digits[--pos] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            if (buffer.remaining() < digits.length - pos) drain();
+            buffer.put(digits, pos, digits.length - pos);
+        }
+
+        // hire_date is stored as an epoch day; written as YYYY-MM-DD like LocalDate.toString(). The
+        // calendar date comes from the days-to-civil arithmetic on 400-year eras that start on
+        // 0000-03-01, so the leap day falls at the end of each shifted year.
+        void putDate(long epochDay) throws IOException {
+            long days = epochDay + 719_468; // Days since 0000-03-01
+            long era = Math.floorDiv(days, 146_097);
+            long dayOfEra = days - era * 146_097;
+            long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+            long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            long shiftedMonth = (5 * dayOfYear + 2) / 153; // 0 is March
+            int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+            int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+            long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+            if (year < 0 || year > 9999) {
+                put(LocalDate.ofEpochDay(epochDay).toString().getBytes(StandardCharsets.US_ASCII)); // Signed or 5+ digit year
+                return;
+            }
+            putPadded((int) year, 4);
+            put((byte) '-');
+            putPadded(month, 2);
+            put((byte) '-');
+            putPadded(day, 2);
+        }
+
+        private void putPadded(int value, int width) throws IOException {
+            for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+                put((byte) ('0' + value / divisor % 10));
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            producedBytes += bytes.remaining();
+            if (gzip != null) {
+                gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                bytes.position(bytes.limit());
+            } else {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            drain();
+            if (gzip != null) {
+                gzip.finish();
+                gzip.flush();
+            }
+            fileBytes = channel.position();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+// src/jmh/java/com/ems/bench/EmployeeFormatBenchmark.java
+package com.ems.bench;
+
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering an Employee for the CLI. Run with -prof gc to see bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmployeeFormatBenchmark {
+
+    private Employee[] employees;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        employees = new Employee[1024];
+        for (int i = 0; i < employees.length; i++) {
+            employees[i] = BenchmarkDatabase.employee(random, "format" + i + "@bench.example");
+            employees[i].setId(i + 1);
+        }
+    }
+
+    @Benchmark
+    public String employeeToString() {
+        return employees[next++ & (employees.length - 1)].toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String employeeToStringConcurrent() {
+        return employeeToString();
+    }
+}
@@ -0,0 +1,524 @@
+// src/main/java/com/ems/io/EmployeeImporter.java
+package com.ems.io;
+
+import com.ems.dao.BatchResult;
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+import com.ems.util.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import of employees from CSV (with a header row) or JSON lines (one flat object per line),
+ * either of them optionally gzipped, as EmployeeExporter writes them.
+ *
+ * The file is read on the calling thread and cut into chunks of the DAO's batch size. Chunks are
+ * parsed and validated in parallel on a parser pool; their futures go through a bounded queue, in
+ * file order, to a single writer thread (SQLite allows one writer) that commits one chunk per
+ * transaction. After each commit the last committed line is written to FILE.checkpoint, and a later
+ * run of the same file resumes after it. The checkpoint is removed once the whole file is imported.
+ */
+public class EmployeeImporter {
+
+    public enum Format {
+        CSV,
+        JSON;
+
+        // .json, .jsonl and .ndjson are JSON lines; everything else is CSV. A trailing .gz only
+        // means the file is gzipped (as EmployeeExporter writes it) and does not affect the format.
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON : CSV;
+        }
+    }
+
+    // Column names for CSV headers and JSON keys, in Employee constructor order
+    static final String[] COLUMNS = {"first_name", "last_name", "email", "phone_number", "hire_date", "job_title", "salary"};
+    private static final int PHONE_NUMBER = 3;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_LINES = 100; // A stray quote costs this many lines, not the rest of the file
+
+    private final EmployeeDAO employeeDAO;
+    private final int parserThreads;
+
+    public EmployeeImporter(EmployeeDAO employeeDAO) {
+        this(employeeDAO, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public EmployeeImporter(EmployeeDAO employeeDAO, int parserThreads) {
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("Need at least one parser thread: " + parserThreads);
+        }
+        this.employeeDAO = employeeDAO;
+        this.parserThreads = parserThreads;
+    }
+
+    // UTF-8 text, decompressed on the fly when the name ends in .gz. Malformed UTF-8 is an error,
+    // as with Files.newBufferedReader, rather than being replaced.
+    private static BufferedReader openReader(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz")) {
+            try {
+                in = new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+            } catch (IOException e) {
+                in.close(); // Not gzip data
+                throw e;
+            }
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder()));
+    }
+
+    public static Path checkpointFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    public ImportReport importFile(Path file) {
+        return importFile(file, Format.forFile(file));
+    }
+
+    public ImportReport importFile(Path file, Format format) {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        long resumeAfter = readCheckpoint(file);
+        report.setResumedAfterLine(resumeAfter);
+        report.setLastCommittedLine(resumeAfter);
+
+        int chunkSize = employeeDAO.getBatchSize(); // One parsed chunk == one transaction
+        BlockingQueue<Future<ParsedChunk>> queue = new ArrayBlockingQueue<>(parserThreads * 2);
+        Writer writer = new Writer(file, queue, report);
+        Thread writerThread = new Thread(writer, "ems-import-writer");
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads, new ParserThreadFactory());
+        writerThread.start();
+
+        try (BufferedReader in = openReader(file)) {
+            int[] columnIndex = null;
+            long lineNumber = 0;
+            if (format == Format.CSV) {
+                String header = in.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new IOException("File is empty");
+                }
+                columnIndex = mapHeader(parseCsvLine(header));
+            }
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            long[] lineNumbers = new long[chunkSize];
+            String line;
+            while ((line = in.readLine()) != null && !writer.hasFailed()) {
+                lineNumber++;
+                long recordLine = lineNumber;
+                if (format == Format.CSV) {
+                    // A quoted field may hold line breaks (EmployeeExporter writes them so): the
+                    // record runs on until its quotes balance, within MAX_RECORD_LINES
+                    String next;
+                    while (hasOpenQuote(line) && lineNumber - recordLine + 1 < MAX_RECORD_LINES
+                           && (next = in.readLine()) != null) {
+                        lineNumber++;
+                        line = line + '\n' + next;
+                    }
+                }
+                if (recordLine <= resumeAfter || line.trim().isEmpty()) {
+                    continue;
+                }
+                lineNumbers[lines.size()] = recordLine;
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    queue.put(parsers.submit(new ParseTask(format, columnIndex, lines, lineNumbers, lineNumber)));
+                    lines = new ArrayList<>(chunkSize);
+                    lineNumbers = new long[chunkSize];
+                }
+            }
+            if (!lines.isEmpty()) {
+                queue.put(parsers.submit(new ParseTask(format, columnIndex, lines, lineNumbers, lineNumber)));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            writer.fail("Error reading " + file + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.fail("Import interrupted");
+        } finally {
+            putEndOfInput(queue);
+            joinQuietly(writerThread);
+            parsers.shutdownNow();
+        }
+
+        if (report.isComplete()) {
+            deleteCheckpoint(file);
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // --- Parsing (parser threads) ---
+    private static class ParsedChunk {
+        final long lastLine;
+        final int rows;
+        final List<Employee> employees = new ArrayList<>();
+        final List<Long> employeeLines = new ArrayList<>();
+        final List<ImportReport.Reject> rejects = new ArrayList<>();
+
+        ParsedChunk(long lastLine, int rows) {
+            this.lastLine = lastLine;
+            this.rows = rows;
+        }
+    }
+
+    private static final Future<ParsedChunk> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    private static class ParseTask implements Callable<ParsedChunk> {
+        private final Format format;
+        private final int[] columnIndex;
+        private final List<String> lines;
+        private final long[] lineNumbers;
+        private final long lastLine;
+
+        ParseTask(Format format, int[] columnIndex, List<String> lines, long[] lineNumbers, long lastLine) {
+            this.format = format;
+            this.columnIndex = columnIndex;
+            this.lines = lines;
+            this.lineNumbers = lineNumbers;
+            this.lastLine = lastLine;
+        }
+
+        @Override
+        public ParsedChunk call() {
+            ParsedChunk chunk = new ParsedChunk(lastLine, lines.size());
+            String[] values = new String[COLUMNS.length];
+            for (int i = 0; i < lines.size(); i++) {
+                try {
+                    if (format == Format.CSV) {
+                        String[] fields = parseCsvLine(lines.get(i));
+                        for (int c = 0; c < COLUMNS.length; c++) {
+                            int index = columnIndex[c];
+                            values[c] = index >= 0 && index < fields.length ? fields[index] : null;
+                        }
+                    } else {
+                        Map<String, String> fields = Json.parseObject(lines.get(i));
+                        for (int c = 0; c < COLUMNS.length; c++) {
+                            values[c] = fields.get(COLUMNS[c]);
+                        }
+                    }
+                    chunk.employees.add(toEmployee(values));
+                    chunk.employeeLines.add(lineNumbers[i]);
+                } catch (IllegalArgumentException e) {
+                    chunk.rejects.add(new ImportReport.Reject(lineNumbers[i], e.getMessage()));
+                }
+            }
+            return chunk;
+        }
+    }
+
+    // Validates one JSON record keyed by COLUMNS (other keys are ignored), e.g. an HTTP request body
+    public static Employee toEmployee(Map<String, String> fields) {
+        String[] values = new String[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            values[c] = fields.get(COLUMNS[c]);
+        }
+        return toEmployee(values);
+    }
+
+    // Validates one record; the message of the IllegalArgumentException is the reject reason
+    static Employee toEmployee(String[] values) {
+        for (int c = 0; c < COLUMNS.length; c++) {
+            String value = values[c] == null ? null : values[c].trim();
+            if ((value == null || value.isEmpty()) && c != PHONE_NUMBER) {
+                throw new IllegalArgumentException("Missing " + COLUMNS[c]);
+            }
+            values[c] = value;
+        }
+        if (values[2].indexOf('@') < 1) {
+            throw new IllegalArgumentException("Invalid email: " + values[2]);
+        }
+        LocalDate hireDate;
+        try {
+            hireDate = LocalDate.parse(values[4]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid hire_date (expected YYYY-MM-DD): " + values[4]);
+        }
+        double salary;
+        try {
+            salary = Double.parseDouble(values[6]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid salary: " + values[6]);
+        }
+        if (salary < 0 || Double.isNaN(salary) || Double.isInfinite(salary)) {
+            throw new IllegalArgumentException("Invalid salary: " + values[6]);
+        }
+        String phoneNumber = values[PHONE_NUMBER] == null || values[PHONE_NUMBER].isEmpty() ? null : values[PHONE_NUMBER];
+        return new Employee(values[0], values[1], values[2], phoneNumber, hireDate, values[5], salary);
+    }
+
+    private static int[] mapHeader(String[] header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            positions.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] columnIndex = new int[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            Integer position = positions.get(COLUMNS[c]);
+            if (position == null && c != PHONE_NUMBER) {
+                throw new IllegalArgumentException("CSV header is missing column '" + COLUMNS[c] + "'");
+            }
+            columnIndex[c] = position == null ? -1 : position;
+        }
+        return columnIndex;
+    }
+
+    // An odd number of quotes leaves a field open; "" inside a quoted field counts twice
+    private static boolean hasOpenQuote(String line) {
+        boolean open = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    // RFC 4180 style: comma separated, optional double quotes, "" for a literal quote.
+    // A record may span lines inside quotes; the caller joins them with \n first.
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    // --- Writing (single writer thread) ---
+    private class Writer implements Runnable {
+        private final Path file;
+        private final BlockingQueue<Future<ParsedChunk>> queue;
+        private final ImportReport report;
+        private final Map<String, Long> firstLineByEmail = new HashMap<>();
+        private volatile boolean failed;
+
+        Writer(Path file, BlockingQueue<Future<ParsedChunk>> queue, ImportReport report) {
+            this.file = file;
+            this.queue = queue;
+            this.report = report;
+        }
+
+        boolean hasFailed() {
+            return failed;
+        }
+
+        synchronized void fail(String message) {
+            if (!failed) {
+                failed = true;
+                report.setFailure(message);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Future<ParsedChunk> next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    fail("Import interrupted");
+                    return;
+                }
+                if (next == END_OF_INPUT) {
+                    return;
+                }
+                if (failed) {
+                    continue; // Keep draining so the reader never blocks on a full queue
+                }
+                try {
+                    write(next.get());
+                } catch (ExecutionException e) {
+                    fail("Error parsing input: " + e.getCause());
+                } catch (InterruptedException e) {
+                    fail("Import interrupted");
+                    return;
+                }
+            }
+        }
+
+        private void write(ParsedChunk chunk) {
+            List<Employee> batch = new ArrayList<>(chunk.employees.size());
+            List<Long> batchLines = new ArrayList<>(chunk.employees.size());
+            List<ImportReport.Reject> rejects = new ArrayList<>(chunk.rejects);
+            for (int i = 0; i < chunk.employees.size(); i++) {
+                Employee employee = chunk.employees.get(i);
+                long line = chunk.employeeLines.get(i);
+                Long firstLine = firstLineByEmail.putIfAbsent(employee.getEmail(), line);
+                if (firstLine != null) {
+                    rejects.add(new ImportReport.Reject(line, "Duplicate email " + employee.getEmail() +
+                                                              " (first seen on line " + firstLine + ")"));
+                } else {
+                    batch.add(employee);
+                    batchLines.add(line);
+                }
+            }
+
+            long imported = 0;
+            if (!batch.isEmpty()) {
+                BatchResult result = employeeDAO.addEmployees(batch);
+                if (allFailed(result)) {
+                    // Nothing went in, so the database itself is failing: stop and leave the checkpoint
+                    fail("Error writing employees: " + result.getMessage(0));
+                    return;
+                }
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.isSuccess(i)) {
+                        imported++;
+                    } else if (result.getOutcome(i) == BatchResult.Outcome.DUPLICATE_EMAIL) {
+                        rejects.add(new ImportReport.Reject(batchLines.get(i),
+                                "An employee with email " + batch.get(i).getEmail() + " already exists"));
+                    } else {
+                        rejects.add(new ImportReport.Reject(batchLines.get(i), result.getMessage(i)));
+                    }
+                }
+            }
+
+            report.addRows(chunk.rows);
+            report.addImported(imported);
+            rejects.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            for (ImportReport.Reject reject : rejects) {
+                report.reject(reject.getLine(), reject.getReason());
+            }
+            report.setLastCommittedLine(chunk.lastLine);
+            writeCheckpoint(file, chunk.lastLine);
+        }
+
+        private boolean allFailed(BatchResult result) {
+            for (int i = 0; i < result.size(); i++) {
+                if (result.getOutcome(i) != BatchResult.Outcome.FAILED) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // --- Checkpoints ---
+    private static long readCheckpoint(Path file) {
+        Path checkpoint = checkpointFile(file);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Ignoring unreadable checkpoint " + checkpoint + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void writeCheckpoint(Path file, long line) {
+        Path checkpoint = checkpointFile(file);
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            Files.write(tmp, Long.toString(line).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing import checkpoint: " + e.getMessage());
+        }
+    }
+
+    private static void deleteCheckpoint(Path file) {
+        try {
+            Files.deleteIfExists(checkpointFile(file));
+        } catch (IOException e) {
+            System.err.println("Error removing import checkpoint: " + e.getMessage());
+        }
+    }
+
+    // --- Helpers ---
+    private static void putEndOfInput(BlockingQueue<Future<ParsedChunk>> queue) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(END_OF_INPUT);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ParserThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "ems-import-parser-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
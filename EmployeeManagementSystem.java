@@ -1,23 +1,71 @@
 // src/main/java/com/ems/main/EmployeeManagementSystem.java
 package com.ems.main;
 
+import com.ems.dao.CachingEmployeeDAO;
+import com.ems.dao.BulkResult;
+import com.ems.dao.DaoMetrics;
+import com.ems.dao.DataAccessException;
+import com.ems.dao.EmployeeCache;
+import com.ems.dao.EmployeeCriteria;
 import com.ems.dao.EmployeeDAO;
+import com.ems.dao.SalaryReport;
+import com.ems.dao.UpdateResult;
+import com.ems.io.EmployeeExporter;
+import com.ems.io.EmployeeImporter;
+import com.ems.io.ExportReport;
+import com.ems.io.ImportReport;
+import com.ems.journal.ChangeJournal;
 import com.ems.model.Employee;
+import com.ems.server.EmployeeServer;
 import com.ems.util.DatabaseManager;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.InputMismatchException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class EmployeeManagementSystem {
 
-    private static EmployeeDAO employeeDAO = new EmployeeDAO();
+    private static EmployeeDAO employeeDAO = createEmployeeDAO();
     private static Scanner scanner = new Scanner(System.in);
+    private static ChangeJournal changeJournal;
+
+    private static final int SEARCH_RESULTS = 10;
+    private static final int BULK_PREVIEW_ROWS = 10;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
 
     public static void main(String[] args) {
+        if (BatchRunner.isBatch(args)) {
+            System.exit(runBatch(args));
+        }
+        boolean server = args.length > 0 && args[0].equals("--server");
+        int port = server ? serverPort(args) : 0;
+        if (port < 0) {
+            System.exit(BatchRunner.EXIT_USAGE);
+        }
         DatabaseManager.initializeDatabase(); // Ensure database and table exist
+        openChangeJournal();
+        if (server) {
+            runServer(port);
+            return;
+        }
 
         int choice;
         do {
@@ -43,6 +91,21 @@ public class EmployeeManagementSystem {
                 case 6:
                     showEmployeeSummary();
                     break;
+                case 7:
+                    importEmployees();
+                    break;
+                case 8:
+                    exportEmployees();
+                    break;
+                case 9:
+                    showDaoMetrics();
+                    break;
+                case 10:
+                    searchEmployees();
+                    break;
+                case 11:
+                    bulkChanges();
+                    break;
                 case 0:
                     System.out.println("Exiting Employee Management System. Goodbye!");
                     break;
@@ -55,6 +118,131 @@ public class EmployeeManagementSystem {
         } while (choice != 0);
 
         scanner.close();
+        closeChangeJournal();
+        DatabaseManager.shutdown(); // Close pooled connections
+    }
+
+    // --server [port]: serve the REST API until the process is stopped. Binds to loopback unless
+    // -Dems.server.host says otherwise; -Dems.server.workers sizes the request worker pool.
+    // --server [port]: the port to listen on, or -1 after printing usage, like a bad batch argument
+    private static int serverPort(String[] args) {
+        if (args.length == 1) {
+            return Integer.getInteger("ems.server.port", EmployeeServer.DEFAULT_PORT);
+        }
+        if (args.length == 2) {
+            try {
+                int port = Integer.parseInt(args[1]);
+                if (port >= 0 && port <= 65535) {
+                    return port;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            System.err.println("ems: --server: port must be a number from 0 to 65535, got " + args[1]);
+        } else {
+            System.err.println("ems: --server: too many arguments");
+        }
+        System.err.println("usage: --server [port]");
+        return -1;
+    }
+
+    private static void runServer(int port) {
+        String host = System.getProperty("ems.server.host", EmployeeServer.DEFAULT_HOST);
+        int workers = Integer.getInteger("ems.server.workers", Runtime.getRuntime().availableProcessors() * 2);
+        try {
+            EmployeeServer server = new EmployeeServer(employeeDAO, new InetSocketAddress(host, port), workers);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(2);
+                closeChangeJournal();
+                DatabaseManager.shutdown();
+            }));
+            System.out.println("Employee API listening on http://" + host + ":" + server.getAddress().getPort() + "/employees");
+        } catch (IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+        }
+    }
+
+    // -c "<commands>" / --script <file|->: run the commands without the menu and return the exit
+    // status; see BatchRunner. Standard output goes through one large buffer, flushed at the end
+    // and before anything is written to standard error, instead of a write per line.
+    private static int runBatch(String[] args) {
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), OUTPUT_BUFFER_SIZE), false);
+        System.setOut(out); // Messages printed by the DAO and DatabaseManager share the buffer
+        System.setErr(new PrintStream(new FilterOutputStream(new FileOutputStream(FileDescriptor.err)) {
+            // Error messages, including the DAO's own, land after the output that preceded them
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                System.out.flush();
+                super.out.write(b, off, len);
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                System.out.flush();
+                super.out.write(b);
+            }
+        }, true));
+        try {
+            String commands;
+            try {
+                commands = BatchRunner.readCommands(args);
+            } catch (IllegalArgumentException e) {
+                System.err.println("ems: " + e.getMessage());
+                return BatchRunner.EXIT_USAGE;
+            } catch (IOException e) {
+                System.err.println("ems: " + e.getMessage());
+                return BatchRunner.EXIT_IO;
+            }
+            if (!DatabaseManager.initializeDatabase()) {
+                return BatchRunner.EXIT_IO;
+            }
+            openChangeJournal();
+            try {
+                return new BatchRunner(employeeDAO, out, System.err, BatchRunner.isKeepGoing(args)).run(commands);
+            } finally {
+                closeChangeJournal();
+                DatabaseManager.shutdown();
+            }
+        } finally {
+            out.flush();
+        }
+    }
+
+    // -Dems.cache.enabled=true puts an LRU/TTL cache in front of the DAO
+    private static EmployeeDAO createEmployeeDAO() {
+        EmployeeDAO dao = new EmployeeDAO();
+        if (!Boolean.getBoolean("ems.cache.enabled")) {
+            return dao;
+        }
+        EmployeeCache cache = new EmployeeCache(
+                Integer.getInteger("ems.cache.maxSize", 10_000),
+                Long.getLong("ems.cache.ttlSeconds", 300),
+                TimeUnit.SECONDS);
+        return new CachingEmployeeDAO(dao, cache);
+    }
+
+    // -Dems.journal.dir=<directory> records every change, with before and after values, in a
+    // ChangeJournal there
+    private static void openChangeJournal() {
+        String dir = System.getProperty("ems.journal.dir");
+        if (dir == null || dir.isEmpty()) {
+            return;
+        }
+        try {
+            changeJournal = ChangeJournal.open(Paths.get(dir));
+            employeeDAO.addChangeListener(changeJournal);
+        } catch (IOException e) {
+            System.err.println("Error opening change journal in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static void closeChangeJournal() {
+        if (changeJournal != null) {
+            employeeDAO.removeChangeListener(changeJournal);
+            changeJournal.close();
+            changeJournal = null;
+        }
     }
 
     private static void displayMenu() {
@@ -65,6 +253,11 @@ public class EmployeeManagementSystem {
         System.out.println("4. Update Employee Details");
         System.out.println("5. Delete Employee");
         System.out.println("6. Employee Summary");
+        System.out.println("7. Import Employees from File (CSV/JSON)");
+        System.out.println("8. Export Employees to File (CSV/JSON)");
+        System.out.println("9. DAO Metrics");
+        System.out.println("10. Search Employees");
+        System.out.println("11. Bulk Changes (raises, job titles, deletes)");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -119,15 +312,36 @@ public class EmployeeManagementSystem {
         }
     }
 
+    // Rows go through one buffer rather than a console write each; System.out is flushed per line
     private static void viewAllEmployees() {
         System.out.println("\n--- All Employees ---");
-        List<Employee> employees = employeeDAO.getAllEmployees();
-        if (employees.isEmpty()) {
-            System.out.println("No employees found.");
+        int printed = 0;
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE); // Not closed: that would close System.out
+        try (Stream<Employee> employees = employeeDAO.streamAllEmployees()) {
+            Iterator<Employee> it = employees.iterator();
+            while (it.hasNext()) {
+                out.write(it.next().toString());
+                out.write(System.lineSeparator());
+                printed++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Error writing employee list: " + e.getMessage());
+        } catch (DataAccessException e) {
+            flushQuietly(out); // Rows read before the failure, then the error
+            System.err.println("Error retrieving employees: " + e.getMessage());
             return;
         }
-        for (Employee emp : employees) {
-            System.out.println(emp);
+        if (printed == 0) {
+            System.out.println("No employees found.");
+        }
+    }
+
+    private static void flushQuietly(Writer out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // Reported by the caller's own error message
         }
     }
 
@@ -202,8 +416,16 @@ public class EmployeeManagementSystem {
             }
         }
 
-        if (employeeDAO.updateEmployee(employeeToUpdate)) {
+        // Only the fields changed above are written, and only if nobody else saved this employee meanwhile
+        UpdateResult result = employeeDAO.updateEmployeeChanges(employeeToUpdate);
+        if (result == UpdateResult.UPDATED) {
             System.out.println("Employee updated successfully!");
+        } else if (result == UpdateResult.UNCHANGED) {
+            System.out.println("No changes to save.");
+        } else if (result == UpdateResult.CONFLICT) {
+            System.out.println("Employee was changed by someone else while you were editing. Your changes were not saved; please try again.");
+        } else if (result == UpdateResult.NOT_FOUND) {
+            System.out.println("Employee with ID " + id + " no longer exists.");
         } else {
             System.out.println("Failed to update employee.");
         }
@@ -226,5 +448,183 @@ public class EmployeeManagementSystem {
         System.out.println("\n--- Employee Summary ---");
         int count = employeeDAO.getEmployeeCount();
         System.out.println("Total number of employees: " + count);
+        if (count > 0) {
+            SalaryReport report = employeeDAO.getSalaryReport();
+            if (report != null) {
+                System.out.println("\n" + report);
+            }
+        }
+        if (employeeDAO instanceof CachingEmployeeDAO) {
+            System.out.println("Cache: " + ((CachingEmployeeDAO) employeeDAO).getCache());
+        }
+    }
+
+    private static void importEmployees() {
+        scanner.nextLine(); // Consume newline
+        System.out.println("\n--- Import Employees ---");
+        System.out.print("File path (.csv with header row, or .json/.jsonl with one object per line): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        if (!Files.isRegularFile(file)) {
+            System.out.println("File not found: " + file);
+            return;
+        }
+        if (Files.exists(EmployeeImporter.checkpointFile(file))) {
+            System.out.println("Found a checkpoint from an earlier run; resuming where it stopped.");
+        }
+
+        ImportReport report = new EmployeeImporter(employeeDAO).importFile(file);
+        System.out.println(report);
+        List<ImportReport.Reject> rejects = report.getRejects();
+        for (int i = 0; i < rejects.size() && i < 20; i++) {
+            System.out.println("  Rejected " + rejects.get(i));
+        }
+        if (report.getRejected() > 20) {
+            System.out.println("  ... and " + (report.getRejected() - 20) + " more rejected rows.");
+        }
+        if (!report.isComplete()) {
+            System.out.println("Run the import again on the same file to resume.");
+        }
+    }
+
+    private static void exportEmployees() {
+        scanner.nextLine(); // Consume newline
+        System.out.println("\n--- Export Employees ---");
+        System.out.print("File path (.csv or .jsonl, add .gz to compress): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+
+        ExportReport report = new EmployeeExporter().exportFile(file);
+        System.out.println(report);
+        if (report.isComplete()) {
+            System.out.println("Employees exported to " + file);
+        }
+    }
+
+    private static void searchEmployees() {
+        scanner.nextLine(); // Consume newline
+        System.out.println("\n--- Search Employees ---");
+        System.out.print("Name or email (start of each word is enough, e.g. \"jo sm\"): ");
+        String query = scanner.nextLine().trim();
+        List<Employee> matches = employeeDAO.searchEmployees(query, SEARCH_RESULTS);
+        if (matches.isEmpty()) {
+            System.out.println("No matching employees found.");
+            return;
+        }
+        for (Employee employee : matches) {
+            System.out.println(employee);
+        }
+    }
+
+    // Set-based changes: each runs as one statement, however many employees it touches
+    private static void bulkChanges() {
+        scanner.nextLine(); // Consume newline
+        System.out.println("\n--- Bulk Changes ---");
+        System.out.println("1. Adjust salaries by percent");
+        System.out.println("2. Adjust salaries by amount");
+        System.out.println("3. Rename a job title");
+        System.out.println("4. Delete employees by job title and/or hire date");
+        String choice = prompt("Enter your choice: ");
+
+        BulkResult result;
+        try {
+            if (choice.equals("1") || choice.equals("2")) {
+                EmployeeCriteria criteria = jobTitleCriteria(prompt("Job title to adjust (blank for everyone): "));
+                double change = Double.parseDouble(prompt(choice.equals("1") ? "Percent (e.g. 3 or -2.5): "
+                                                                             : "Amount (e.g. 1500 or -200): "));
+                if (!confirm(criteria, "adjust the salary of")) return;
+                result = choice.equals("1") ? employeeDAO.adjustSalariesByPercent(criteria, change, false)
+                                            : employeeDAO.adjustSalariesByAmount(criteria, change, false);
+            } else if (choice.equals("3")) {
+                String from = prompt("Current job title: ");
+                String to = prompt("New job title: ");
+                if (from.isEmpty() || to.isEmpty()) {
+                    System.out.println("Both job titles are required.");
+                    return;
+                }
+                if (!confirm(new EmployeeCriteria().jobTitle(from), "rename the job title of")) return;
+                result = employeeDAO.reassignJobTitle(from, to, false);
+            } else if (choice.equals("4")) {
+                String jobTitle = prompt("Job title (blank for any): ");
+                String hiredTo = prompt("Hired on or before (YYYY-MM-DD, blank for any): ");
+                if (jobTitle.isEmpty() && hiredTo.isEmpty()) {
+                    System.out.println("Give a job title or a hire date; deleting every employee is not offered here.");
+                    return;
+                }
+                EmployeeCriteria criteria = jobTitleCriteria(jobTitle);
+                if (!hiredTo.isEmpty()) {
+                    criteria.hiredBetween(null, LocalDate.parse(hiredTo));
+                }
+                if (!confirm(criteria, "DELETE")) return;
+                result = employeeDAO.deleteEmployees(criteria, false);
+            } else {
+                System.out.println("Invalid choice.");
+                return;
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number. Nothing was changed.");
+            return;
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid date format. Nothing was changed.");
+            return;
+        }
+
+        if (result == null) {
+            System.out.println("Bulk change failed; nothing was changed.");
+            return;
+        }
+        System.out.println(result);
+    }
+
+    private static String prompt(String text) {
+        System.out.print(text);
+        return scanner.nextLine().trim();
+    }
+
+    // Every employee for a blank job title
+    private static EmployeeCriteria jobTitleCriteria(String jobTitle) {
+        return jobTitle.isEmpty() ? new EmployeeCriteria() : new EmployeeCriteria().jobTitle(jobTitle);
+    }
+
+    // Counts the matches in SQL and shows the first few, so confirming costs the same however
+    // many employees the change will touch. Bulk changes ignore the limit set here.
+    private static boolean confirm(EmployeeCriteria criteria, String action) {
+        int matching = employeeDAO.getEmployeeCount(criteria);
+        if (matching < 0) {
+            System.out.println("Bulk change failed; nothing was changed.");
+            return false;
+        }
+        if (matching == 0) {
+            System.out.println("No employees match; nothing was changed.");
+            return false;
+        }
+        for (Employee employee : employeeDAO.findEmployees(criteria.limit(BULK_PREVIEW_ROWS))) {
+            System.out.println(employee);
+        }
+        if (matching > BULK_PREVIEW_ROWS) {
+            System.out.println("... and " + (matching - BULK_PREVIEW_ROWS) + " more.");
+        }
+        System.out.print("This will " + action + " " + matching + " employee(s). Continue? (y/n): ");
+        if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            System.out.println("Cancelled.");
+            return false;
+        }
+        return true;
+    }
+
+    private static void showDaoMetrics() {
+        scanner.nextLine(); // Consume newline
+        System.out.println("\n--- DAO Metrics ---");
+        System.out.print("Format (text/json) [text]: ");
+        String format = scanner.nextLine().trim();
+        if (format.equalsIgnoreCase("json")) {
+            System.out.println(DaoMetrics.toJson());
+        } else {
+            System.out.print(DaoMetrics.toText());
+            if (DatabaseManager.isConcurrent()) {
+                System.out.println("Writer: " + DatabaseManager.getPoolStats());
+                System.out.println("Readers: " + DatabaseManager.getReadPoolStats());
+            } else {
+                System.out.println("Pool: " + DatabaseManager.getPoolStats());
+            }
+        }
     }
 }
\ No newline at end of file
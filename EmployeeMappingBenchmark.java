@@ -0,0 +1,64 @@
+// src/jmh/java/com/ems/bench/EmployeeMappingBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping cost: reads a page of PAGE_SIZE employees into Employee objects. Run with -prof gc;
+ * gc.alloc.rate.norm divided by PAGE_SIZE is the allocation per mapped row.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar EmployeeMappingBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 1_000;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+    private int afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(ROWS);
+        dao = new EmployeeDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Employee> mapPage() {
+        List<Employee> page = dao.getEmployeesPage(afterId, PAGE_SIZE);
+        afterId = afterId + PAGE_SIZE >= ROWS ? 0 : afterId + PAGE_SIZE;
+        return page;
+    }
+}
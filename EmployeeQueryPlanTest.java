@@ -0,0 +1,109 @@
+// src/test/java/com/ems/dao/EmployeeQueryPlanTest.java
+package com.ems.dao;
+
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN QUERY PLAN for the SQL findEmployees builds: each filter and sort is served by the
+ * index initializeDatabase creates for it rather than a table scan or a sort.
+ */
+class EmployeeQueryPlanTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("plan.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void jobTitleUsesItsIndex() throws SQLException {
+        String plan = plan(new EmployeeCriteria().jobTitle("Designer"));
+        assertTrue(plan.contains("USING INDEX idx_employees_job_title (job_title=?)"), plan);
+    }
+
+    @Test
+    void hireDateRangeUsesItsIndex() throws SQLException {
+        String plan = plan(new EmployeeCriteria().hiredBetween(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31)));
+        assertTrue(plan.contains("USING INDEX idx_employees_hire_date (hire_date>? AND hire_date<?)"), plan);
+    }
+
+    @Test
+    void salaryRangeUsesItsIndex() throws SQLException {
+        String plan = plan(new EmployeeCriteria().minSalary(50_000).maxSalary(90_000)
+                                                 .sortBy(EmployeeCriteria.SortField.SALARY, true));
+        assertTrue(plan.contains("USING INDEX idx_employees_salary (salary>? AND salary<?)"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void lastNamePrefixIsARangeOnTheNameIndex() throws SQLException {
+        String plan = plan(new EmployeeCriteria().lastNameStartsWith("Sm"));
+        assertTrue(plan.contains("USING INDEX idx_employees_name (last_name>? AND last_name<?)"), plan);
+    }
+
+    @Test
+    void sortByLastNameReadsTheNameIndexInOrder() throws SQLException {
+        for (boolean ascending : new boolean[] {true, false}) {
+            String plan = plan(new EmployeeCriteria().sortBy(EmployeeCriteria.SortField.LAST_NAME, ascending).limit(50));
+            assertTrue(plan.contains("idx_employees_name"), plan);
+            assertFalse(plan.contains("TEMP B-TREE"), plan);
+        }
+    }
+
+    // The id tie-break follows the sort direction, so a descending sort is a backwards index walk
+    @Test
+    void descendingSortsNeedNoSortStep() throws SQLException {
+        for (EmployeeCriteria.SortField field : new EmployeeCriteria.SortField[] {
+                EmployeeCriteria.SortField.HIRE_DATE, EmployeeCriteria.SortField.JOB_TITLE, EmployeeCriteria.SortField.SALARY}) {
+            String plan = plan(new EmployeeCriteria().sortBy(field, false).limit(20));
+            assertTrue(plan.contains("USING INDEX"), plan);
+            assertFalse(plan.contains("TEMP B-TREE"), field + ": " + plan);
+        }
+    }
+
+    // The plan's detail lines, one per line
+    private static String plan(EmployeeCriteria criteria) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "EXPLAIN QUERY PLAN " + EmployeeDAO.buildFindSql(criteria, params);
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,120 @@
+// src/main/java/com/ems/dao/EmployeeSearch.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query parsing and ranking for EmployeeDAO.searchEmployees.
+ *
+ * The FTS5 index finds the candidates; ranking them here instead of with ORDER BY rank keeps a
+ * search bounded: bm25 has to score every match before the first row comes back, which for a
+ * one-letter prefix is most of the table. Candidates are ranked by how well each query word
+ * matches: a whole first or last name beats a name prefix, which beats a whole email word,
+ * which beats an email prefix. Ties go to the shorter name, then the lower id.
+ */
+final class EmployeeSearch {
+
+    private static final int NAME_WORD = 6;
+    private static final int NAME_PREFIX = 4;
+    private static final int EMAIL_WORD = 2;
+    private static final int EMAIL_PREFIX = 1;
+
+    private EmployeeSearch() {
+    }
+
+    // Lower-cased runs of letters and digits, the same words the unicode61 tokenizer indexes
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        int i = 0;
+        while (i < query.length()) {
+            while (i < query.length() && !Character.isLetterOrDigit(query.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < query.length() && Character.isLetterOrDigit(query.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.add(query.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    // ["jo", "smi"] -> "jo"* "smi"* (every word must match). Quoting keeps FTS5 syntax inert.
+    static String matchExpression(List<String> terms, boolean prefix) {
+        StringBuilder match = new StringBuilder();
+        for (String term : terms) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append('"');
+            if (prefix) {
+                match.append('*');
+            }
+        }
+        return match.toString();
+    }
+
+    static List<Employee> rank(Collection<Employee> candidates, List<String> terms, int limit) {
+        List<Scored> scored = new ArrayList<>(candidates.size());
+        for (Employee employee : candidates) {
+            scored.add(new Scored(employee, score(employee, terms)));
+        }
+        scored.sort(Comparator.comparingInt((Scored s) -> -s.score)
+                              .thenComparingInt(s -> s.nameLength)
+                              .thenComparingInt(s -> s.employee.getId()));
+        List<Employee> top = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            top.add(scored.get(i).employee);
+        }
+        return top;
+    }
+
+    private static int score(Employee employee, List<String> terms) {
+        List<String> firstName = terms(employee.getFirstName());
+        List<String> lastName = terms(employee.getLastName());
+        List<String> email = terms(employee.getEmail());
+        int score = 0;
+        for (String term : terms) {
+            score += Math.max(Math.max(wordScore(firstName, term, NAME_WORD, NAME_PREFIX),
+                                       wordScore(lastName, term, NAME_WORD, NAME_PREFIX)),
+                              wordScore(email, term, EMAIL_WORD, EMAIL_PREFIX));
+        }
+        return score;
+    }
+
+    private static int wordScore(List<String> words, String term, int whole, int prefix) {
+        int best = 0;
+        for (String word : words) {
+            if (word.equals(term)) {
+                return whole;
+            }
+            if (word.startsWith(term)) {
+                best = prefix;
+            }
+        }
+        return best;
+    }
+
+    private static final class Scored {
+        final Employee employee;
+        final int score;
+        final int nameLength;
+
+        Scored(Employee employee, int score) {
+            this.employee = employee;
+            this.score = score;
+            this.nameLength = employee.getFirstName().length() + employee.getLastName().length();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// src/jmh/java/com/ems/bench/EmployeeSearchBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead latency of searchEmployees for the top 10 matches, from a one-letter prefix that
+ * matches every row down to a full name. Seeded names look like "First123 Last4567", with
+ * emails "seed<n>@bench.example".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EmployeeSearchBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"f", "first", "first12", "first1234 last5", "seed4242@b"})
+    public String query;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        dao = new EmployeeDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployees() {
+        return dao.searchEmployees(query, TOP_K);
+    }
+}
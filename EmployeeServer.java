@@ -0,0 +1,551 @@
+// src/main/java/com/ems/server/EmployeeServer.java
+package com.ems.server;
+
+import com.ems.dao.AsyncEmployeeDAO;
+import com.ems.dao.DaoMetrics;
+import com.ems.dao.DataAccessException;
+import com.ems.dao.DuplicateEmailException;
+import com.ems.dao.EmployeeDAO;
+import com.ems.dao.StrictEmployeeDAO;
+import com.ems.dao.TransientDataAccessException;
+import com.ems.io.EmployeeImporter;
+import com.ems.model.Employee;
+import com.ems.util.Json;
+import com.ems.util.LatencyHistogram;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * REST/JSON front end for EmployeeDAO on the JDK's built-in HTTP server.
+ *
+ *   GET    /employees                   every employee, streamed from a database cursor
+ *   GET    /employees?after=ID&limit=N  keyset page; X-Next-After holds the cursor for the next page
+ *   GET    /employees/count             {"count": N}
+ *   GET    /employees/{id}              one employee, with ETag / If-None-Match support
+ *   POST   /employees                   create; 201 with Location
+ *   PUT    /employees/{id}              replace; with If-Match, only while the row is at that ETag's version
+ *   DELETE /employees/{id}              delete
+ *   GET    /metrics                     per-endpoint latency and status counts, plus DAO metrics
+ *
+ * Requests are parsed and lists are streamed on a fixed worker pool. Single-row operations go
+ * through AsyncEmployeeDAO and answer from its completion, so a slow query never holds a worker.
+ * Bodies use the same snake_case keys as the JSON import/export files.
+ */
+public class EmployeeServer {
+
+    public static final String DEFAULT_HOST = "127.0.0.1"; // Loopback unless asked otherwise
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final StrictEmployeeDAO dao; // Lists, on the worker; a failure throws DataAccessException
+    private final AsyncEmployeeDAO asyncDao;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public EmployeeServer(EmployeeDAO dao, InetSocketAddress address, int workerThreads) throws IOException {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Worker threads must be at least 1: " + workerThreads);
+        }
+        this.dao = new StrictEmployeeDAO(dao);
+        this.asyncDao = new AsyncEmployeeDAO(dao);
+        this.server = HttpServer.create(address, 0);
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads,
+                task -> new Thread(task, "ems-http-" + sequence.incrementAndGet()));
+        server.setExecutor(workers);
+        server.createContext("/employees", this::handleEmployees);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Waits up to delaySeconds for in-flight exchanges, then stops the workers
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        asyncDao.close();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // --- Routing ---
+    private void handleEmployees(HttpExchange exchange) {
+        long start = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String rest = path.length() > "/employees".length() ? path.substring("/employees".length() + 1) : "";
+        try {
+            if (!path.equals("/employees") && !path.startsWith("/employees/")) {
+                send(exchange, start, "unmatched", Response.error(404, "No such resource: " + path));
+            } else if (rest.isEmpty()) {
+                if (method.equals("GET")) {
+                    listEmployees(exchange, start);
+                } else if (method.equals("POST")) {
+                    createEmployee(exchange, start);
+                } else {
+                    methodNotAllowed(exchange, start, "GET /employees", "GET, POST");
+                }
+            } else if (rest.equals("count")) {
+                if (method.equals("GET")) {
+                    complete(exchange, start, "GET /employees/count", asyncDao.getEmployeeCount(),
+                             count -> Response.json(200, "{\"count\":" + count + "}"));
+                } else {
+                    methodNotAllowed(exchange, start, "GET /employees/count", "GET");
+                }
+            } else {
+                int id = parseId(rest);
+                if (id < 1) {
+                    send(exchange, start, "GET /employees/{id}", Response.error(404, "No such resource: " + path));
+                } else if (method.equals("GET") || method.equals("HEAD")) {
+                    getEmployee(exchange, start, id);
+                } else if (method.equals("PUT")) {
+                    replaceEmployee(exchange, start, id);
+                } else if (method.equals("DELETE")) {
+                    complete(exchange, start, "DELETE /employees/{id}", asyncDao.deleteEmployee(id),
+                             deleted -> deleted ? Response.empty(204) : notFound(id));
+                } else {
+                    methodNotAllowed(exchange, start, "GET /employees/{id}", "GET, HEAD, PUT, DELETE");
+                }
+            }
+        } catch (StreamAbortedException e) {
+            throw e; // Lets the server drop the connection; see streamArray
+        } catch (RuntimeException e) {
+            send(exchange, start, method + " /employees", Response.error(500, e.toString()));
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) {
+        long start = System.nanoTime();
+        StringBuilder sb = new StringBuilder("{\"endpoints\":{");
+        boolean first = true;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            Json.appendString(sb, entry.getKey()).append(':');
+            entry.getValue().appendJson(sb);
+        }
+        sb.append("},\"dao\":").append(DaoMetrics.toJson()).append('}');
+        send(exchange, start, "GET /metrics", Response.json(200, sb.toString()));
+    }
+
+    // --- Handlers ---
+    private void listEmployees(HttpExchange exchange, long start) {
+        Map<String, String> query = parseQuery(exchange.getRequestURI());
+        String endpoint = "GET /employees";
+        try {
+            if (query.containsKey("after") || query.containsKey("limit")) {
+                int after = Integer.parseInt(query.getOrDefault("after", "0"));
+                int limit = Integer.parseInt(query.getOrDefault("limit", Integer.toString(DEFAULT_PAGE_LIMIT)));
+                if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+                    send(exchange, start, endpoint, Response.error(400, "limit must be between 1 and " + MAX_PAGE_LIMIT));
+                    return;
+                }
+                List<Employee> page = dao.getEmployeesPage(after, limit);
+                if (page.size() == limit) {
+                    exchange.getResponseHeaders().set("X-Next-After", Integer.toString(page.get(page.size() - 1).getId()));
+                }
+                streamArray(exchange, start, endpoint, page.iterator());
+            } else {
+                try (Stream<Employee> employees = dao.streamAllEmployees()) {
+                    streamArray(exchange, start, endpoint, employees.iterator());
+                }
+            }
+        } catch (NumberFormatException e) {
+            send(exchange, start, endpoint, Response.error(400, "after and limit must be integers"));
+        } catch (DataAccessException e) {
+            send(exchange, start, endpoint, errorResponse(exchange, e)); // The page or the cursor could not be read
+        }
+    }
+
+    // Chunked response: each employee is written as it is read, nothing is buffered beyond one row.
+    // If reading fails mid-stream the 200 is already sent, and closing the body normally would
+    // end the chunked encoding and pass a truncated array off as complete. Instead the exchange
+    // is abandoned with a StreamAbortedException, which HttpServer answers by closing the
+    // connection, so the client sees the response break off before the closing ']'.
+    private void streamArray(HttpExchange exchange, long start, String endpoint, Iterator<Employee> employees) {
+        int status = 200;
+        boolean aborted = false;
+        try {
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(200, 0);
+            Writer out = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+            try {
+                StringBuilder sb = new StringBuilder(256);
+                out.write('[');
+                boolean first = true;
+                while (employees.hasNext()) {
+                    sb.setLength(0);
+                    if (!first) sb.append(',');
+                    first = false;
+                    appendEmployee(sb, employees.next());
+                    out.append(sb);
+                }
+                out.write(']');
+            } catch (DataAccessException e) {
+                status = 500;
+                aborted = true;
+                System.err.println("Error streaming employees: " + e.getMessage());
+                throw new StreamAbortedException(e);
+            }
+            out.close(); // Writes the last chunk
+        } catch (IOException e) {
+            status = 499; // Client went away mid-stream
+        } finally {
+            if (!aborted) {
+                exchange.close(); // Would also write the last chunk, so not after an abort
+            }
+            stats(endpoint).record(status, System.nanoTime() - start);
+        }
+    }
+
+    // Thrown out of the handler on purpose: HttpServer closes the connection without ending the body
+    private static final class StreamAbortedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StreamAbortedException(DataAccessException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private void getEmployee(HttpExchange exchange, long start, int id) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        complete(exchange, start, "GET /employees/{id}", asyncDao.getEmployeeById(id), found -> {
+            if (!found.isPresent()) {
+                return notFound(id);
+            }
+            Response response = Response.employee(200, found.get());
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, response.etag)) {
+                return Response.notModified(response.etag);
+            }
+            return response;
+        });
+    }
+
+    private void createEmployee(HttpExchange exchange, long start) {
+        Employee employee;
+        try {
+            employee = EmployeeImporter.toEmployee(Json.parseObject(readBody(exchange)));
+        } catch (IllegalArgumentException | IOException e) {
+            send(exchange, start, "POST /employees", Response.error(400, e.getMessage()));
+            return;
+        }
+        complete(exchange, start, "POST /employees", asyncDao.addEmployee(employee), added -> {
+            if (!added) {
+                return Response.error(500, "Employee was not inserted");
+            }
+            exchange.getResponseHeaders().set("Location", "/employees/" + employee.getId());
+            return Response.employee(201, employee);
+        });
+    }
+
+    private void replaceEmployee(HttpExchange exchange, long start, int id) {
+        Employee employee;
+        try {
+            employee = EmployeeImporter.toEmployee(Json.parseObject(readBody(exchange)));
+        } catch (IllegalArgumentException | IOException e) {
+            send(exchange, start, "PUT /employees/{id}", Response.error(400, e.getMessage()));
+            return;
+        }
+        employee.setId(id);
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            int version = versionOf(ifMatch);
+            if (version < 1) {
+                send(exchange, start, "PUT /employees/{id}", Response.error(412, "If-Match does not name a version of this employee"));
+                return;
+            }
+            employee.setVersion(version); // Every field is still marked changed, so the row is replaced whole
+        }
+        complete(exchange, start, "PUT /employees/{id}", asyncDao.updateEmployee(employee), result -> {
+            switch (result) {
+                case NOT_FOUND:
+                    return notFound(id);
+                case CONFLICT:
+                    return Response.error(412, "Employee with ID " + id + " was changed since version " + employee.getVersion() + ".");
+                default:
+                    return Response.employee(200, employee);
+            }
+        });
+    }
+
+    private void methodNotAllowed(HttpExchange exchange, long start, String endpoint, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        send(exchange, start, endpoint, Response.error(405, exchange.getRequestMethod() + " is not allowed here"));
+    }
+
+    private static Response notFound(int id) {
+        return Response.error(404, "Employee with ID " + id + " not found.");
+    }
+
+    // --- Responses ---
+    private interface ResponseMapper<T> {
+        Response map(T result);
+    }
+
+    // Answers from the future's completion thread; the worker that accepted the request is already free
+    private <T> void complete(HttpExchange exchange, long start, String endpoint, CompletableFuture<T> future,
+                              ResponseMapper<T> mapper) {
+        future.whenComplete((result, failure) -> {
+            Response response;
+            if (failure == null) {
+                try {
+                    response = mapper.map(result);
+                } catch (RuntimeException e) {
+                    response = Response.error(500, e.toString());
+                }
+            } else {
+                response = errorResponse(exchange, failure);
+            }
+            send(exchange, start, endpoint, response);
+        });
+    }
+
+    private static Response errorResponse(HttpExchange exchange, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof DuplicateEmailException) {
+            return Response.error(409, "An employee with this email already exists.");
+        }
+        if (cause instanceof TransientDataAccessException) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            return Response.error(503, cause.getMessage());
+        }
+        if (cause instanceof DataAccessException) {
+            return Response.error(500, cause.getMessage());
+        }
+        return Response.error(500, cause.toString());
+    }
+
+    private void send(HttpExchange exchange, long start, String endpoint, Response response) {
+        try {
+            if (response.contentType != null) {
+                exchange.getResponseHeaders().set("Content-Type", response.contentType);
+            }
+            if (response.etag != null) {
+                exchange.getResponseHeaders().set("ETag", response.etag);
+            }
+            boolean noBody = response.body.length == 0 || exchange.getRequestMethod().equals("HEAD");
+            // A 304 or HEAD exchange ends as soon as the headers are sent, and HttpServer drops the
+            // keep-alive connection if the request body has not been read to the end by then
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(response.status, noBody ? -1 : response.body.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response.body);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing HTTP response: " + e.getMessage());
+        } finally {
+            exchange.close();
+            stats(endpoint).record(response.status, System.nanoTime() - start);
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final byte[] body;
+        final String contentType;
+        final String etag;
+
+        private Response(int status, byte[] body, String contentType, String etag) {
+            this.status = status;
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+
+        static Response json(int status, String json) {
+            return new Response(status, json.getBytes(StandardCharsets.UTF_8), JSON, null);
+        }
+
+        static Response employee(int status, Employee employee) {
+            byte[] body = appendEmployee(new StringBuilder(256), employee).toString().getBytes(StandardCharsets.UTF_8);
+            return new Response(status, body, JSON, etagOf(employee, body));
+        }
+
+        static Response notModified(String etag) {
+            return new Response(304, new byte[0], null, etag);
+        }
+
+        static Response empty(int status) {
+            return new Response(status, new byte[0], null, null);
+        }
+
+        static Response error(int status, String message) {
+            StringBuilder sb = new StringBuilder("{\"error\":");
+            Json.appendString(sb, message);
+            return json(status, sb.append('}').toString());
+        }
+    }
+
+    // --- JSON / HTTP helpers ---
+    static StringBuilder appendEmployee(StringBuilder sb, Employee employee) {
+        sb.append("{\"id\":").append(employee.getId()).append(",\"first_name\":");
+        Json.appendString(sb, employee.getFirstName()).append(",\"last_name\":");
+        Json.appendString(sb, employee.getLastName()).append(",\"email\":");
+        Json.appendString(sb, employee.getEmail()).append(",\"phone_number\":");
+        Json.appendString(sb, employee.getPhoneNumber()).append(",\"hire_date\":\"");
+        sb.append(employee.getHireDate()).append("\",\"job_title\":");
+        Json.appendString(sb, employee.getJobTitle()).append(",\"salary\":");
+        return sb.append(employee.getSalary()).append('}');
+    }
+
+    // The row version: every write through the DAO bumps it, so it is a strong validator, and a
+    // client can send it back in If-Match. An employee without one falls back to a body checksum.
+    private static String etagOf(Employee employee, byte[] body) {
+        if (employee.getVersion() > 0) {
+            return "\"v" + employee.getVersion() + "\"";
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+
+    // Version named by an If-Match of one of our ETags; 0 if it is anything else (a weak tag,
+    // a checksum tag, several tags)
+    private static int versionOf(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 4 || !tag.startsWith("\"v") || !tag.endsWith("\"")) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2); // Weak comparison is what If-None-Match calls for
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                body.write(buffer, 0, n);
+                if (body.size() > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("Request body is larger than " + MAX_BODY_BYTES + " bytes");
+                }
+            }
+            return body.toString(StandardCharsets.UTF_8.name());
+        }
+    }
+
+    private static int parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Query values here are plain integers, so no percent-decoding beyond what URI already did
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new LinkedHashMap<>();
+        String raw = uri.getQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    query.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return query;
+    }
+
+    // --- Per-endpoint stats ---
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+    }
+
+    public Map<String, EndpointStats> getEndpointStats() {
+        return new TreeMap<>(endpoints);
+    }
+
+    public static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] byStatusClass = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+        void record(int status, long nanos) {
+            latency.record(nanos);
+            int statusClass = Math.min(Math.max(status / 100, 2), 5) - 2; // 2xx..5xx; 499 counts as 4xx
+            byStatusClass[statusClass].increment();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        // statusClass is 2, 3, 4 or 5
+        public long getCount(int statusClass) {
+            return byStatusClass[statusClass - 2].sum();
+        }
+
+        void appendJson(StringBuilder sb) {
+            sb.append("{\"requests\":").append(latency.getCount());
+            for (int statusClass = 2; statusClass <= 5; statusClass++) {
+                sb.append(",\"").append(statusClass).append("xx\":").append(getCount(statusClass));
+            }
+            sb.append(",\"latencyNanos\":{\"mean\":").append(Math.round(latency.getMeanNanos()))
+              .append(",\"p50\":").append(latency.getValueAtPercentile(50))
+              .append(",\"p90\":").append(latency.getValueAtPercentile(90))
+              .append(",\"p99\":").append(latency.getValueAtPercentile(99))
+              .append(",\"max\":").append(latency.getMaxNanos())
+              .append("}}");
+        }
+    }
+}
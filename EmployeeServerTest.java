@@ -0,0 +1,264 @@
+// src/test/java/com/ems/server/EmployeeServerTest.java
+package com.ems.server;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EmployeeServer over real HTTP on an ephemeral port: single-row reads and writes with their
+ * ETags and If-Match preconditions, 404s, the streamed and paged list, a list whose read fails
+ * mid-stream, which must break off rather than end as a well-formed truncated array, and a page
+ * whose query fails, which must be a 5xx rather than an empty or short page.
+ */
+class EmployeeServerTest {
+
+    private static final String ADA = "{\"first_name\":\"Ada\",\"last_name\":\"Lovelace\",\"email\":\"ada@example.com\","
+                                    + "\"phone_number\":\"555-0100\",\"hire_date\":\"2019-03-01\",\"job_title\":\"Engineer\",\"salary\":\"90000\"}";
+
+    @TempDir
+    Path dir;
+
+    private EmployeeServer server;
+    private HttpClient client;
+    private URI base;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("server.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        server = new EmployeeServer(new EmployeeDAO(), new InetSocketAddress(EmployeeServer.DEFAULT_HOST, 0), 2);
+        server.start();
+        base = URI.create("http://" + EmployeeServer.DEFAULT_HOST + ":" + server.getAddress().getPort());
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void createThenGet() throws Exception {
+        HttpResponse<String> created = send(request("/employees").POST(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(201, created.statusCode(), created.body());
+        String location = created.headers().firstValue("Location").orElseThrow();
+        assertEquals("/employees/1", location);
+        assertEquals("\"v1\"", created.headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<String> found = send(request(location).GET());
+        assertEquals(200, found.statusCode());
+        assertTrue(found.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertTrue(found.body().contains("\"email\":\"ada@example.com\""), found.body());
+        assertTrue(found.body().contains("\"salary\":90000.0"), found.body());
+
+        HttpResponse<String> duplicate = send(request("/employees").POST(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(409, duplicate.statusCode(), duplicate.body());
+    }
+
+    @Test
+    void etagRevalidationAndIfMatch() throws Exception {
+        send(request("/employees").POST(HttpRequest.BodyPublishers.ofString(ADA)));
+        String etag = send(request("/employees/1").GET()).headers().firstValue("ETag").orElseThrow();
+        assertEquals("\"v1\"", etag);
+
+        HttpResponse<String> notModified = send(request("/employees/1").header("If-None-Match", etag).GET());
+        assertEquals(304, notModified.statusCode());
+        assertEquals(etag, notModified.headers().firstValue("ETag").orElseThrow());
+        assertEquals("", notModified.body());
+
+        String renamed = ADA.replace("\"Engineer\"", "\"Principal Engineer\"");
+        HttpResponse<String> replaced = send(request("/employees/1").header("If-Match", etag)
+                                                 .PUT(HttpRequest.BodyPublishers.ofString(renamed)));
+        assertEquals(200, replaced.statusCode(), replaced.body());
+        String newEtag = replaced.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etag, newEtag);
+        assertEquals(newEtag, send(request("/employees/1").GET()).headers().firstValue("ETag").orElseThrow());
+        assertEquals(200, send(request("/employees/1").header("If-None-Match", etag).GET()).statusCode());
+
+        // A writer still holding the old ETag lost the race
+        HttpResponse<String> stale = send(request("/employees/1").header("If-Match", etag)
+                                              .PUT(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(412, stale.statusCode(), stale.body());
+        assertTrue(send(request("/employees/1").GET()).body().contains("Principal Engineer"));
+
+        HttpResponse<String> foreign = send(request("/employees/1").header("If-Match", "W/\"v2\"")
+                                                .PUT(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(412, foreign.statusCode(), foreign.body());
+
+        HttpResponse<String> unconditional = send(request("/employees/1").PUT(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(200, unconditional.statusCode(), unconditional.body());
+    }
+
+    // HttpServer ends a 304 exchange as soon as its headers are out; the connection must survive that
+    @Test
+    void notModifiedKeepsTheConnectionOpen() throws Exception {
+        send(request("/employees").POST(HttpRequest.BodyPublishers.ofString(ADA)));
+        try (Socket socket = new Socket(EmployeeServer.DEFAULT_HOST, server.getAddress().getPort())) {
+            socket.setSoTimeout(10_000);
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            out.write("GET /employees/1 HTTP/1.1\r\nHost: test\r\nIf-None-Match: \"v1\"\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            assertEquals("HTTP/1.1 304 Not Modified", in.readLine());
+            while (!in.readLine().isEmpty()) {
+                // Headers
+            }
+            out.write("GET /employees/count HTTP/1.1\r\nHost: test\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            assertEquals("HTTP/1.1 200 OK", in.readLine());
+        }
+    }
+
+    @Test
+    void missingEmployeesAre404() throws Exception {
+        assertEquals(404, send(request("/employees/42").GET()).statusCode());
+        assertEquals(404, send(request("/employees/42").PUT(HttpRequest.BodyPublishers.ofString(ADA))).statusCode());
+        assertEquals(404, send(request("/employees/42").DELETE()).statusCode());
+        assertEquals(404, send(request("/employees/not-a-number").GET()).statusCode());
+
+        send(request("/employees").POST(HttpRequest.BodyPublishers.ofString(ADA)));
+        assertEquals(204, send(request("/employees/1").DELETE()).statusCode());
+        assertEquals(404, send(request("/employees/1").GET()).statusCode());
+    }
+
+    @Test
+    void listStreamsEveryEmployee() throws Exception {
+        addEmployees(5);
+        HttpResponse<String> all = send(request("/employees").GET());
+        assertEquals(200, all.statusCode());
+        assertEquals("chunked", all.headers().firstValue("Transfer-Encoding").orElse(""));
+        assertTrue(all.body().startsWith("[{\"id\":1,") && all.body().endsWith("}]"), all.body());
+        assertEquals(5, occurrences(all.body(), "\"id\":"));
+
+        HttpResponse<String> page = send(request("/employees?after=2&limit=2").GET());
+        assertEquals(200, page.statusCode());
+        assertEquals("4", page.headers().firstValue("X-Next-After").orElseThrow());
+        assertTrue(page.body().startsWith("[{\"id\":3,") && page.body().contains("{\"id\":4,"), page.body());
+        assertEquals(2, occurrences(page.body(), "\"id\":"));
+
+        assertEquals("[]", send(request("/employees?after=5").GET()).body());
+        assertEquals(400, send(request("/employees?limit=0").GET()).statusCode());
+    }
+
+    @Test
+    void listFailingMidStreamBreaksOffTheResponse() throws Exception {
+        addEmployees(5);
+        failReadsAfterId(2);
+
+        assertThrows(IOException.class, () -> send(request("/employees").GET()));
+        assertEquals(1, server.getEndpointStats().get("GET /employees").getCount(5));
+
+        // The worker survives the abort and the next request is answered normally
+        assertEquals(200, send(request("/employees/1").GET()).statusCode());
+    }
+
+    @Test
+    void pageThatFailsIsAnErrorNotTheEndOfTheData() throws Exception {
+        addEmployees(5);
+        failReadsAfterId(2);
+
+        HttpResponse<String> first = send(request("/employees?after=0&limit=2").GET());
+        assertEquals(200, first.statusCode(), first.body());
+        assertEquals("2", first.headers().firstValue("X-Next-After").orElseThrow());
+
+        HttpResponse<String> failed = send(request("/employees?after=2&limit=2").GET());
+        assertEquals(500, failed.statusCode(), failed.body());
+        assertTrue(failed.body().contains("getEmployeesPage failed"), failed.body());
+        assertTrue(failed.headers().firstValue("X-Next-After").isEmpty());
+        assertEquals(1, server.getEndpointStats().get("GET /employees").getCount(5));
+    }
+
+    @Test
+    void pageBlockedByALockIsUnavailable() throws Exception {
+        addEmployees(3);
+        server.stop(0);
+        DatabaseManager.shutdown();
+        System.setProperty("ems.db.busyTimeoutMillis", "50");
+        try {
+            server = new EmployeeServer(new EmployeeDAO(), new InetSocketAddress(EmployeeServer.DEFAULT_HOST, 0), 2);
+            server.start();
+            base = URI.create("http://" + EmployeeServer.DEFAULT_HOST + ":" + server.getAddress().getPort());
+            try (Connection locker = DriverManager.getConnection(DatabaseManager.getUrl());
+                 Statement stmt = locker.createStatement()) {
+                stmt.execute("BEGIN EXCLUSIVE"); // Readers get SQLITE_BUSY until it ends
+                HttpResponse<String> busy = send(request("/employees?limit=2").GET());
+                assertEquals(503, busy.statusCode(), busy.body());
+                assertEquals("1", busy.headers().firstValue("Retry-After").orElseThrow());
+                stmt.execute("ROLLBACK");
+            }
+            assertEquals(200, send(request("/employees?limit=2").GET()).statusCode());
+        } finally {
+            System.clearProperty("ems.db.busyTimeoutMillis");
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void addEmployees(int count) {
+        Employee[] employees = new Employee[count];
+        for (int i = 0; i < count; i++) {
+            employees[i] = new Employee("First" + i, "Last" + i, "e" + i + "@example.com", null,
+                                        LocalDate.of(2020, 1, 1).plusDays(i), "Clerk", 40_000 + i);
+        }
+        assertEquals(count, new EmployeeDAO().addEmployees(Arrays.asList(employees)).getSuccessCount());
+    }
+
+    // Rows after afterId raise an SQL error when read, so the list cursor opens fine and then fails
+    private static void failReadsAfterId(int afterId) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE employees RENAME TO employees_base");
+            stmt.executeUpdate("CREATE VIEW employees AS SELECT id, first_name, last_name, email, phone_number, "
+                               + "hire_date, job_title, CASE WHEN id > " + afterId + " THEN json_extract('not json', '$') "
+                               + "ELSE salary END AS salary, version FROM employees_base");
+        }
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
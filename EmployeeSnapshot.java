@@ -0,0 +1,536 @@
+// src/main/java/com/ems/dao/EmployeeSnapshot.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Column-oriented, in-memory copy of the employees table for whole-workforce analytics.
+ *
+ * Each row is an index into parallel primitive arrays (id, salary, hire date as epoch day,
+ * dictionary-encoded job title), about 20 bytes per employee instead of an Employee object with
+ * a LocalDate and four Strings. Scans are plain counted loops over those arrays, which the JIT can
+ * unroll and vectorize, and split across the common fork/join pool above PARALLEL_THRESHOLD rows.
+ *
+ * The snapshot listens to the DAO it was loaded from: committed writes are queued and merged into
+ * a new copy of the columns before the next scan, so it stays current without reloading. Writes
+ * made outside that DAO (another process, the import tool's raw SQL) need a fresh load().
+ */
+public class EmployeeSnapshot implements EmployeeChangeListener, AutoCloseable {
+
+    private static final DaoMetrics.Operation LOAD = DaoMetrics.operation("loadSnapshot");
+    private static final String LOAD_SQL = "SELECT id, hire_date, job_title, salary FROM employees ORDER BY id";
+    private static final int LOAD_FETCH_SIZE = 2_000;
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int LEAF_SIZE = 1 << 14;
+
+    // One immutable version of the table; a scan keeps using the version it started on
+    private static final class Columns {
+        final int size;
+        final int[] id;
+        final double[] salary;
+        final int[] hireEpochDay;
+        final int[] jobTitleCode;
+        final String[] jobTitles; // code -> title
+
+        Columns(int size, int[] id, double[] salary, int[] hireEpochDay, int[] jobTitleCode, String[] jobTitles) {
+            this.size = size;
+            this.id = id;
+            this.salary = salary;
+            this.hireEpochDay = hireEpochDay;
+            this.jobTitleCode = jobTitleCode;
+            this.jobTitles = jobTitles;
+        }
+    }
+
+    // A committed write waiting to be merged
+    private static final class Change {
+        final int id;
+        final boolean deleted;
+        final double salary;
+        final int hireEpochDay;
+        final String jobTitle;
+
+        Change(int id, boolean deleted, double salary, int hireEpochDay, String jobTitle) {
+            this.id = id;
+            this.deleted = deleted;
+            this.salary = salary;
+            this.hireEpochDay = hireEpochDay;
+            this.jobTitle = jobTitle;
+        }
+    }
+
+    private final EmployeeDAO dao;
+    private final Map<String, Integer> jobTitleCodes = new ConcurrentHashMap<>(); // Codes never change once given
+    private final ConcurrentLinkedQueue<Change> pending = new ConcurrentLinkedQueue<>();
+    private volatile Columns columns;
+
+    private EmployeeSnapshot(EmployeeDAO dao) {
+        this.dao = dao;
+    }
+
+    // Reads the whole table; returns null if it cannot be read
+    public static EmployeeSnapshot load(EmployeeDAO dao) {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(dao);
+        dao.addChangeListener(snapshot); // Before reading, so no write can fall between the two
+        try {
+            snapshot.columns = snapshot.readTable();
+            return snapshot;
+        } catch (SQLException e) {
+            dao.removeChangeListener(snapshot);
+            System.err.println("Error loading employee snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized Columns readTable() throws SQLException {
+        int capacity = 1024;
+        int[] id = new int[capacity];
+        double[] salary = new double[capacity];
+        int[] hireEpochDay = new int[capacity];
+        int[] jobTitleCode = new int[capacity];
+        List<String> titles = new ArrayList<>();
+        int n = 0;
+
+        DaoMetrics.Call call = LOAD.start();
+        try (Connection conn = call.connectForRead();
+             Statement stmt = call.createStatement(conn)) {
+            stmt.setFetchSize(LOAD_FETCH_SIZE);
+            try (ResultSet rs = call.executeQuery(stmt, LOAD_SQL)) {
+                while (rs.next()) {
+                    if (n == capacity) {
+                        capacity *= 2;
+                        id = Arrays.copyOf(id, capacity);
+                        salary = Arrays.copyOf(salary, capacity);
+                        hireEpochDay = Arrays.copyOf(hireEpochDay, capacity);
+                        jobTitleCode = Arrays.copyOf(jobTitleCode, capacity);
+                    }
+                    id[n] = rs.getInt(1);
+                    hireEpochDay[n] = rs.getInt(2);
+                    jobTitleCode[n] = codeOf(rs.getString(3), titles);
+                    salary[n] = rs.getDouble(4);
+                    n++;
+                }
+            }
+        } catch (SQLException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return new Columns(n, Arrays.copyOf(id, n), Arrays.copyOf(salary, n), Arrays.copyOf(hireEpochDay, n),
+                           Arrays.copyOf(jobTitleCode, n), titles.toArray(new String[0]));
+    }
+
+    // titles is the dictionary being built for the next Columns version
+    private int codeOf(String jobTitle, List<String> titles) {
+        Integer code = jobTitleCodes.get(jobTitle);
+        if (code == null) {
+            code = titles.size();
+            titles.add(jobTitle);
+            jobTitleCodes.put(jobTitle, code);
+        }
+        return code;
+    }
+
+    // --- Incremental refresh ---
+    @Override
+    public void employeeSaved(Employee employee) {
+        pending.add(new Change(employee.getId(), false, employee.getSalary(),
+                               (int) employee.getHireDate().toEpochDay(), employee.getJobTitle()));
+    }
+
+    @Override
+    public void employeeDeleted(int id) {
+        pending.add(new Change(id, true, 0, 0, null));
+    }
+
+    // Merges queued writes into a new version of the columns. Scans call this themselves, so it
+    // only needs calling directly to control when the copy happens.
+    public synchronized void refresh() {
+        Map<Integer, Change> changes = new TreeMap<>(); // Last write per id wins, ordered by id
+        Change change;
+        while ((change = pending.poll()) != null) {
+            changes.put(change.id, change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        Columns old = columns;
+        List<String> titles = new ArrayList<>(Arrays.asList(old.jobTitles));
+        int capacity = old.size + changes.size();
+        int[] id = new int[capacity];
+        double[] salary = new double[capacity];
+        int[] hireEpochDay = new int[capacity];
+        int[] jobTitleCode = new int[capacity];
+
+        // Two-way merge of the id-ordered rows with the id-ordered changes (upserts and deletes)
+        int n = 0;
+        int i = 0;
+        for (Change c : changes.values()) {
+            while (i < old.size && old.id[i] < c.id) {
+                id[n] = old.id[i];
+                salary[n] = old.salary[i];
+                hireEpochDay[n] = old.hireEpochDay[i];
+                jobTitleCode[n] = old.jobTitleCode[i];
+                n++;
+                i++;
+            }
+            if (i < old.size && old.id[i] == c.id) {
+                i++; // Replaced or deleted
+            }
+            if (!c.deleted) {
+                id[n] = c.id;
+                salary[n] = c.salary;
+                hireEpochDay[n] = c.hireEpochDay;
+                jobTitleCode[n] = codeOf(c.jobTitle, titles);
+                n++;
+            }
+        }
+        int tail = old.size - i;
+        System.arraycopy(old.id, i, id, n, tail);
+        System.arraycopy(old.salary, i, salary, n, tail);
+        System.arraycopy(old.hireEpochDay, i, hireEpochDay, n, tail);
+        System.arraycopy(old.jobTitleCode, i, jobTitleCode, n, tail);
+        n += tail;
+
+        columns = new Columns(n, trim(id, n), trim(salary, n), trim(hireEpochDay, n), trim(jobTitleCode, n),
+                              titles.toArray(new String[0]));
+    }
+
+    private static int[] trim(int[] array, int n) {
+        return array.length == n ? array : Arrays.copyOf(array, n);
+    }
+
+    private static double[] trim(double[] array, int n) {
+        return array.length == n ? array : Arrays.copyOf(array, n);
+    }
+
+    private Columns current() {
+        if (!pending.isEmpty()) {
+            refresh();
+        }
+        return columns;
+    }
+
+    // Stops listening to the DAO; the snapshot stays readable but no longer changes
+    @Override
+    public void close() {
+        dao.removeChangeListener(this);
+    }
+
+    // --- Filters ---
+    // Mutable builder; an unset bound matches everything
+    public static class Filter {
+        private String jobTitle;
+        private int fromEpochDay = Integer.MIN_VALUE;
+        private int toEpochDay = Integer.MAX_VALUE;
+        private double minSalary = Double.NEGATIVE_INFINITY;
+        private double maxSalary = Double.POSITIVE_INFINITY;
+
+        public Filter jobTitle(String jobTitle) {
+            this.jobTitle = jobTitle;
+            return this;
+        }
+
+        // Inclusive; either end may be null
+        public Filter hiredBetween(LocalDate from, LocalDate to) {
+            this.fromEpochDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+            this.toEpochDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+            return this;
+        }
+
+        // Inclusive
+        public Filter salaryBetween(double min, double max) {
+            this.minSalary = min;
+            this.maxSalary = max;
+            return this;
+        }
+    }
+
+    private static final Filter ALL = new Filter();
+
+    // A Filter resolved against one Columns version, down to primitives for the scan loops
+    private static final class Predicate {
+        static final int ANY = -1;
+        static final int NONE = -2;
+
+        final int jobTitleCode;
+        final int fromEpochDay;
+        final int toEpochDay;
+        final double minSalary;
+        final double maxSalary;
+
+        Predicate(int jobTitleCode, Filter filter) {
+            this.jobTitleCode = jobTitleCode;
+            this.fromEpochDay = filter.fromEpochDay;
+            this.toEpochDay = filter.toEpochDay;
+            this.minSalary = filter.minSalary;
+            this.maxSalary = filter.maxSalary;
+        }
+
+        boolean matches(Columns c, int i) {
+            int day = c.hireEpochDay[i];
+            double salary = c.salary[i];
+            return (jobTitleCode == ANY || c.jobTitleCode[i] == jobTitleCode)
+                   & day >= fromEpochDay & day <= toEpochDay
+                   & salary >= minSalary & salary <= maxSalary; // Non-short-circuit: no branches to mispredict
+        }
+    }
+
+    private Predicate resolve(Filter filter, Columns c) {
+        if (filter.jobTitle == null) {
+            return new Predicate(Predicate.ANY, filter);
+        }
+        Integer code = jobTitleCodes.get(filter.jobTitle);
+        return new Predicate(code == null || code >= c.jobTitles.length ? Predicate.NONE : code, filter);
+    }
+
+    // --- Scans ---
+    public int size() {
+        return current().size;
+    }
+
+    public Aggregate aggregate() {
+        return aggregate(ALL);
+    }
+
+    public Aggregate aggregate(Filter filter) {
+        Columns c = current();
+        Predicate p = resolve(filter, c);
+        return scan(c, (from, to) -> {
+            Aggregate a = new Aggregate();
+            for (int i = from; i < to; i++) {
+                if (p.matches(c, i)) {
+                    a.add(c.salary[i]);
+                }
+            }
+            return a;
+        }, Aggregate::merge);
+    }
+
+    // Salary statistics per job title, in title order
+    public Map<String, Aggregate> aggregateByJobTitle(Filter filter) {
+        Columns c = current();
+        Predicate p = resolve(filter, c);
+        int codes = c.jobTitles.length;
+        Aggregate[] byCode = scan(c, (from, to) -> {
+            Aggregate[] partial = new Aggregate[codes];
+            for (int code = 0; code < codes; code++) {
+                partial[code] = new Aggregate();
+            }
+            for (int i = from; i < to; i++) {
+                if (p.matches(c, i)) {
+                    partial[c.jobTitleCode[i]].add(c.salary[i]);
+                }
+            }
+            return partial;
+        }, (left, right) -> {
+            for (int code = 0; code < codes; code++) {
+                left[code].merge(right[code]);
+            }
+            return left;
+        });
+        Map<String, Aggregate> result = new TreeMap<>();
+        for (int code = 0; code < codes; code++) {
+            if (byCode[code].getCount() > 0) {
+                result.put(c.jobTitles[code], byCode[code]);
+            }
+        }
+        return result;
+    }
+
+    // counts[k] = employees with salary in [k * bandWidth, (k + 1) * bandWidth); the last band is open-ended
+    public long[] salaryBands(Filter filter, double bandWidth, int bands) {
+        if (bandWidth <= 0 || bands < 1) {
+            throw new IllegalArgumentException("Band width and band count must be positive");
+        }
+        Columns c = current();
+        Predicate p = resolve(filter, c);
+        int last = bands - 1;
+        return scan(c, (from, to) -> {
+            long[] counts = new long[bands];
+            for (int i = from; i < to; i++) {
+                if (p.matches(c, i)) {
+                    int band = (int) (c.salary[i] / bandWidth);
+                    counts[Math.max(0, Math.min(band, last))]++;
+                }
+            }
+            return counts;
+        }, EmployeeSnapshot::addCounts);
+    }
+
+    // counts[y] = employees with y full years of service on asOf; the last bucket is open-ended
+    public long[] tenureYears(Filter filter, LocalDate asOf, int maxYears) {
+        if (maxYears < 1) {
+            throw new IllegalArgumentException("maxYears must be positive: " + maxYears);
+        }
+        Columns c = current();
+        Predicate p = resolve(filter, c);
+        // Tenure thresholds as epoch days: hired on or before threshold[y] means at least y years
+        int[] threshold = new int[maxYears + 1];
+        for (int y = 0; y <= maxYears; y++) {
+            threshold[y] = (int) asOf.minus(y, ChronoUnit.YEARS).toEpochDay();
+        }
+        return scan(c, (from, to) -> {
+            long[] counts = new long[maxYears + 1];
+            for (int i = from; i < to; i++) {
+                int day = c.hireEpochDay[i];
+                if (p.matches(c, i) && day <= threshold[0]) {
+                    int years = 0;
+                    while (years < maxYears && day <= threshold[years + 1]) {
+                        years++;
+                    }
+                    counts[years]++;
+                }
+            }
+            return counts;
+        }, EmployeeSnapshot::addCounts);
+    }
+
+    // IDs of the matching employees, ascending
+    public int[] ids(Filter filter) {
+        Columns c = current();
+        Predicate p = resolve(filter, c);
+        return scan(c, (from, to) -> {
+            int[] matches = new int[Math.min(to - from, 256)];
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                if (p.matches(c, i)) {
+                    if (n == matches.length) {
+                        matches = Arrays.copyOf(matches, Math.min(to - from, n * 2));
+                    }
+                    matches[n++] = c.id[i];
+                }
+            }
+            return Arrays.copyOf(matches, n);
+        }, (left, right) -> {
+            int[] both = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, both, left.length, right.length);
+            return both;
+        });
+    }
+
+    private static long[] addCounts(long[] left, long[] right) {
+        for (int k = 0; k < left.length; k++) {
+            left[k] += right[k];
+        }
+        return left;
+    }
+
+    // Approximate heap bytes held by the current columns, dictionary included
+    public long getFootprintBytes() {
+        Columns c = current();
+        long bytes = 4L * 16 + 4L * c.id.length + 8L * c.salary.length + 4L * c.hireEpochDay.length
+                     + 4L * c.jobTitleCode.length + 16 + 8L * c.jobTitles.length;
+        for (String title : c.jobTitles) {
+            bytes += 40 + title.length(); // String header + compact Latin-1 bytes
+        }
+        return bytes;
+    }
+
+    // --- Fork/join ---
+    private interface RangeScan<P> {
+        P scan(int from, int to);
+    }
+
+    private static <P> P scan(Columns c, RangeScan<P> leaf, BinaryOperator<P> combine) {
+        if (c.size < PARALLEL_THRESHOLD) {
+            return leaf.scan(0, c.size);
+        }
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(leaf, combine, 0, c.size));
+    }
+
+    private static final class ScanTask<P> extends RecursiveTask<P> {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeScan<P> leaf;
+        private final BinaryOperator<P> combine;
+        private final int from;
+        private final int to;
+
+        ScanTask(RangeScan<P> leaf, BinaryOperator<P> combine, int from, int to) {
+            this.leaf = leaf;
+            this.combine = combine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected P compute() {
+            if (to - from <= LEAF_SIZE) {
+                return leaf.scan(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask<P> left = new ScanTask<>(leaf, combine, from, mid);
+            left.fork();
+            P right = new ScanTask<>(leaf, combine, mid, to).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    // --- Results ---
+    public static class Aggregate {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double salary) {
+            count++;
+            sum += salary;
+            min = Math.min(min, salary);
+            max = Math.max(max, salary);
+        }
+
+        Aggregate merge(Aggregate other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public double getAverage() {
+            return count == 0 ? 0.0 : sum / count;
+        }
+
+        public double getMin() {
+            return count == 0 ? 0.0 : min;
+        }
+
+        public double getMax() {
+            return count == 0 ? 0.0 : max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, avg=%.2f, min=%.2f, max=%.2f", count, getAverage(), getMin(), getMax());
+        }
+    }
+}
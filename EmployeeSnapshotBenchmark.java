@@ -0,0 +1,122 @@
+// src/jmh/java/com/ems/bench/EmployeeSnapshotBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.dao.EmployeeSnapshot;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Analytics scans over the columnar EmployeeSnapshot against the same scans over the
+ * List<Employee> from getAllEmployees(). Trial setup also prints the retained heap of both
+ * representations, measured after a full GC:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar EmployeeSnapshotBenchmark -p rows=1000000 -jvmArgs -Xmx2g
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EmployeeSnapshotBenchmark {
+
+    private static final LocalDate HIRED_FROM = LocalDate.of(2015, 1, 1);
+    private static final String JOB_TITLE = "Software Engineer";
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private EmployeeSnapshot snapshot;
+    private List<Employee> list;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        EmployeeDAO dao = new EmployeeDAO();
+
+        long before = usedHeap();
+        snapshot = EmployeeSnapshot.load(dao);
+        long snapshotBytes = usedHeap() - before;
+
+        before = usedHeap();
+        list = dao.getAllEmployees();
+        long listBytes = usedHeap() - before;
+
+        System.out.printf("%nRetained heap at %,d rows: List<Employee> %,d bytes (%d/row), "
+                          + "snapshot %,d bytes (%d/row, estimate %,d)%n",
+                          rows, listBytes, listBytes / rows, snapshotBytes, snapshotBytes / rows,
+                          snapshot.getFootprintBytes());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        snapshot.close();
+        database.close();
+    }
+
+    @Benchmark
+    public double averageSalaryList() {
+        return list.stream().mapToDouble(Employee::getSalary).average().orElse(0);
+    }
+
+    @Benchmark
+    public double averageSalarySnapshot() {
+        return snapshot.aggregate().getAverage();
+    }
+
+    @Benchmark
+    public long filteredCountList() {
+        return list.stream()
+                   .filter(e -> JOB_TITLE.equals(e.getJobTitle()) && !e.getHireDate().isBefore(HIRED_FROM))
+                   .count();
+    }
+
+    @Benchmark
+    public long filteredCountSnapshot() {
+        return snapshot.aggregate(new EmployeeSnapshot.Filter().jobTitle(JOB_TITLE).hiredBetween(HIRED_FROM, null))
+                       .getCount();
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByJobTitleList() {
+        return list.stream().collect(Collectors.groupingBy(Employee::getJobTitle,
+                                                           Collectors.averagingDouble(Employee::getSalary)));
+    }
+
+    @Benchmark
+    public Map<String, EmployeeSnapshot.Aggregate> averageByJobTitleSnapshot() {
+        return snapshot.aggregateByJobTitle(new EmployeeSnapshot.Filter());
+    }
+}
@@ -0,0 +1,60 @@
+// src/test/java/com/ems/model/EmployeeTest.java
+package com.ems.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * toString() formats by hand rather than with String.format; the salary must still come out
+ * exactly as String.format("%.2f") printed it, half-cent boundaries included.
+ */
+class EmployeeTest {
+
+    private static final double[] BOUNDARIES = {
+        0, -0.0, 0.005, 0.015, 0.125, 0.994, 0.995, 0.999, 1.005, 1.015, 2.675, 9.995, 99.995,
+        1234.565, 4189.855, 50_000.005, 99_999.995, 12_345_678.905, 1.0E15 + 0.5, 1.0E20, 1.0E-7,
+        Double.MIN_VALUE, -0.001, -0.005, -1.005, -4189.855, Long.MAX_VALUE / 100.0, 1.0E300
+    };
+
+    @Test
+    void salaryMatchesStringFormatAtBoundaries() {
+        for (double salary : BOUNDARIES) {
+            assertSalary(salary);
+        }
+    }
+
+    @Test
+    void salaryMatchesStringFormatForEveryHalfCent() {
+        for (int cents = 0; cents < 1_000_000; cents += 7) {
+            assertSalary((cents * 10 + 5) / 1000.0);
+        }
+        Random random = new Random(16);
+        for (int i = 0; i < 100_000; i++) {
+            assertSalary(random.nextInt(100_000_000) / 1000.0);
+        }
+    }
+
+    @Test
+    void toStringListsEveryField() {
+        Employee employee = new Employee(7, "Ada", "Lovelace", "ada@example.com", "555-0100",
+                                         LocalDate.of(2019, 3, 1), "Engineer", 4189.855);
+        assertEquals("ID: 7, Name: Ada Lovelace, Email: ada@example.com, Phone: 555-0100, Hire Date: 2019-03-01,"
+                     + " Job Title: Engineer, Salary: $4189.86", employee.toString());
+    }
+
+    private static void assertSalary(double salary) {
+        String expected = "Salary: $" + String.format(Locale.ROOT, "%.2f", salary);
+        String actual = employee(salary).toString();
+        assertTrue(actual.endsWith(expected), salary + ": expected " + expected + " in " + actual);
+    }
+
+    private static Employee employee(double salary) {
+        return new Employee("First", "Last", "first@example.com", null, LocalDate.of(2020, 1, 1), "Clerk", salary);
+    }
+}
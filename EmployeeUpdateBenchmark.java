@@ -0,0 +1,77 @@
+// src/jmh/java/com/ems/bench/EmployeeUpdateBenchmark.java
+package com.ems.bench;
+
+import com.ems.dao.EmployeeDAO;
+import com.ems.dao.UpdateResult;
+import com.ems.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a version-checked updateEmployeeChanges by what changed: the salary alone, a name
+ * (which also re-indexes the row for search), or the whole row as updateEmployee wrote it before
+ * change tracking. Each invocation edits one of a few thousand employees read at setup, whose
+ * versions stay current because nothing else writes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeUpdateBenchmark {
+
+    private static final int EDITED_ROWS = 4_096;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"salary", "name", "all"})
+    public String change;
+
+    private BenchmarkDatabase database;
+    private EmployeeDAO dao;
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create(rows);
+        dao = new EmployeeDAO();
+        employees = dao.getEmployeesPage(0, EDITED_ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public UpdateResult updateEmployeeChanges() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Employee employee = employees.get(random.nextInt(employees.size()));
+        employee.setSalary(30_000 + random.nextInt(170_000));
+        if (change.equals("name")) {
+            employee.setLastName("Last" + random.nextInt(20_000));
+        } else if (change.equals("all")) {
+            employee.markAllChanged();
+        }
+        return dao.updateEmployeeChanges(employee);
+    }
+}
@@ -0,0 +1,197 @@
+// src/test/java/com/ems/dao/EmployeeUpdateTest.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+import com.ems.util.DatabaseManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Optimistic versioning and dirty-field writes: updateEmployeeChanges writes only the changed
+ * columns while the row is still at the version it was read at, and tells a stale copy (CONFLICT)
+ * from a deleted row (NOT_FOUND) and a clean one (UNCHANGED). updateEmployees checks versions the
+ * same way and advances them on the objects it saved.
+ */
+class EmployeeUpdateTest {
+
+    @TempDir
+    Path dir;
+
+    private EmployeeDAO dao;
+    private int id;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("ems.db.url", "jdbc:sqlite:" + dir.resolve("update.db"));
+        DatabaseManager.shutdown();
+        assertTrue(DatabaseManager.initializeDatabase());
+        dao = new EmployeeDAO();
+        Employee employee = employee("ada");
+        assertTrue(dao.addEmployee(employee));
+        assertEquals(1, employee.getVersion());
+        id = employee.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+        System.clearProperty("ems.db.url");
+    }
+
+    @Test
+    void staleVersionIsAConflictAndLeavesTheRowAlone() {
+        Employee first = dao.getEmployeeById(id);
+        Employee stale = dao.getEmployeeById(id);
+        first.setSalary(50_000);
+        assertEquals(UpdateResult.UPDATED, dao.updateEmployeeChanges(first));
+        assertEquals(2, first.getVersion());
+
+        stale.setJobTitle("Director");
+        assertEquals(UpdateResult.CONFLICT, dao.updateEmployeeChanges(stale));
+        assertEquals(1, stale.getVersion(), "a conflicting copy keeps the version it was read at");
+        assertTrue(stale.isChanged(Employee.Field.JOB_TITLE), "and its pending change");
+        assertFalse(dao.updateEmployee(stale));
+
+        Employee stored = dao.getEmployeeById(id);
+        assertEquals("Clerk", stored.getJobTitle());
+        assertEquals(50_000, stored.getSalary());
+        assertEquals(2, stored.getVersion());
+    }
+
+    @Test
+    void onlyChangedColumnsAreWritten() throws SQLException {
+        Employee employee = dao.getEmployeeById(id);
+        // Another writer changes a different column without moving the version, e.g. a migration
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("UPDATE employees SET phone_number = ? WHERE id = ?")) {
+            pstmt.setString(1, "555-0100");
+            pstmt.setInt(2, id);
+            assertEquals(1, pstmt.executeUpdate());
+        }
+
+        employee.setSalary(45_000);
+        employee.setLastName("King");
+        assertEquals(UpdateResult.UPDATED, dao.updateEmployeeChanges(employee));
+        assertFalse(employee.hasChanges());
+
+        Employee stored = dao.getEmployeeById(id);
+        assertEquals("555-0100", stored.getPhoneNumber(), "the untouched column was not overwritten");
+        assertEquals("King", stored.getLastName());
+        assertEquals(45_000, stored.getSalary());
+        assertEquals(2, stored.getVersion());
+    }
+
+    @Test
+    void cleanEmployeeIsUnchanged() {
+        Employee employee = dao.getEmployeeById(id);
+        assertEquals(UpdateResult.UNCHANGED, dao.updateEmployeeChanges(employee));
+        employee.setSalary(employee.getSalary()); // Same value: not a change
+        assertEquals(UpdateResult.UNCHANGED, dao.updateEmployeeChanges(employee));
+        assertEquals(1, dao.getEmployeeById(id).getVersion(), "no write, so no new version");
+        assertTrue(dao.updateEmployee(employee));
+    }
+
+    @Test
+    void deletedRowIsNotFound() {
+        Employee employee = dao.getEmployeeById(id);
+        assertTrue(dao.deleteEmployee(id));
+        employee.setSalary(1);
+        assertEquals(UpdateResult.NOT_FOUND, dao.updateEmployeeChanges(employee));
+
+        Employee unversioned = employee("nobody"); // Never read, so written whole and unchecked
+        unversioned.setId(id);
+        assertEquals(UpdateResult.NOT_FOUND, dao.updateEmployeeChanges(unversioned));
+    }
+
+    @Test
+    void previousValuesPathTellsConflictFromNotFound() {
+        List<Employee> before = new ArrayList<>();
+        dao.addChangeListener(new EmployeeChangeListener() {
+            @Override
+            public void employeeSaved(Employee employee) {
+            }
+
+            @Override
+            public void employeeDeleted(int deletedId) {
+            }
+
+            @Override
+            public boolean wantsPreviousValues() {
+                return true;
+            }
+
+            @Override
+            public void employeeUpdated(Employee previous, Employee employee) {
+                before.add(previous);
+            }
+        });
+        Employee first = dao.getEmployeeById(id);
+        Employee stale = dao.getEmployeeById(id);
+        first.setSalary(60_000);
+        assertEquals(UpdateResult.UPDATED, dao.updateEmployeeChanges(first));
+        assertEquals(1, before.size());
+        assertEquals(40_000, before.get(0).getSalary());
+
+        stale.setSalary(70_000);
+        assertEquals(UpdateResult.CONFLICT, dao.updateEmployeeChanges(stale));
+        assertTrue(dao.deleteEmployee(id));
+        first.setSalary(65_000);
+        assertEquals(UpdateResult.NOT_FOUND, dao.updateEmployeeChanges(first));
+        assertEquals(1, before.size(), "no event for a write that did not happen");
+    }
+
+    @Test
+    void updateEmployeesAdvancesEachVersion() {
+        Employee second = employee("grace");
+        Employee third = employee("edsger");
+        assertEquals(2, dao.addEmployees(Arrays.asList(second, third)).getSuccessCount());
+        List<Employee> employees = dao.getEmployeesByIds(id, second.getId(), third.getId());
+        Employee stale = dao.getEmployeeById(third.getId());
+
+        for (int round = 1; round <= 2; round++) {
+            for (Employee employee : employees) {
+                employee.setSalary(40_000 + round * 1_000);
+            }
+            BatchResult result = dao.updateEmployees(employees);
+            assertEquals(3, result.getSuccessCount(), "round " + round);
+            for (Employee employee : employees) {
+                assertEquals(1 + round, employee.getVersion());
+                assertFalse(employee.hasChanges());
+                Employee stored = dao.getEmployeeById(employee.getId());
+                assertEquals(employee.getVersion(), stored.getVersion());
+                assertEquals(40_000 + round * 1_000, stored.getSalary());
+            }
+        }
+
+        stale.setSalary(99_000);
+        Employee missing = employee("missing");
+        missing.setId(9_999);
+        BatchResult result = dao.updateEmployees(Arrays.asList(stale, missing));
+        assertEquals(BatchResult.Outcome.CONFLICT, result.getOutcome(0));
+        assertEquals(BatchResult.Outcome.NOT_FOUND, result.getOutcome(1));
+        assertEquals(1, stale.getVersion());
+        assertEquals(42_000, dao.getEmployeeById(stale.getId()).getSalary());
+        assertNull(dao.getEmployeeById(9_999));
+    }
+
+    private static Employee employee(String name) {
+        return new Employee("First", name, name + "@example.com", null, LocalDate.of(2020, 1, 1), "Clerk", 40_000);
+    }
+}
@@ -0,0 +1,206 @@
+// src/main/java/com/ems/journal/EventCodec.java
+package com.ems.journal;
+
+import com.ems.model.Employee;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk format of the change journal.
+ *
+ * A journal is a directory of segment files named after the sequence of their first event
+ * (00000000000000000001.journal, ...). Each segment is a 16-byte header followed by records:
+ *
+ * <pre>
+ * header:  int magic "EMSJ", short format version, short 0, long first sequence
+ * record:  int payload length, int CRC-32 of payload, payload
+ * payload: long sequence, long timestamp millis, byte type, int employee id,
+ *          byte flags (1 = before-image follows, 2 = after-image follows), images
+ * image:   first name, last name, email, phone, job title, int hire epoch day, double salary
+ * string:  varint (UTF-8 length + 1; 0 means null), UTF-8 bytes
+ * </pre>
+ *
+ * Segments are preallocated, so unwritten space reads as zeros and a zero length marks the end
+ * of the data. The length is stored last, so a record is either complete or its CRC fails.
+ */
+final class EventCodec {
+
+    static final int MAGIC = 0x454D534A; // "EMSJ"
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = 8; // Length and CRC
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int HAS_BEFORE = 1;
+    private static final int HAS_AFTER = 2;
+
+    private EventCodec() {
+    }
+
+    // --- Segments ---
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    // Oldest first; the zero-padded names sort by first sequence
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                segments.add(file);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static void writeHeader(ByteBuffer segment, long firstSequence) {
+        segment.putInt(0, MAGIC);
+        segment.putShort(4, FORMAT_VERSION);
+        segment.putShort(6, (short) 0);
+        segment.putLong(8, firstSequence);
+    }
+
+    // False for a file too short to hold a header or not written by this format, e.g. a
+    // segment whose creation was cut short by a crash
+    static boolean hasValidHeader(ByteBuffer segment, long firstSequence) {
+        return segment.limit() >= HEADER_SIZE
+               && segment.getInt(0) == MAGIC
+               && segment.getShort(4) == FORMAT_VERSION
+               && segment.getLong(8) == firstSequence;
+    }
+
+    // --- Records ---
+    // Payload length of the intact record at position; 0 if no record starts there (end of the
+    // data), -1 if one starts there but is cut short or fails its CRC (a torn write)
+    static int probe(ByteBuffer segment, int position) {
+        if (position + RECORD_OVERHEAD > segment.limit()) {
+            return 0;
+        }
+        int length = segment.getInt(position);
+        if (length == 0) {
+            return 0;
+        }
+        if (length < 0 || length > segment.limit() - position - RECORD_OVERHEAD) {
+            return -1;
+        }
+        ByteBuffer payload = segment.duplicate();
+        payload.limit(position + RECORD_OVERHEAD + length).position(position + RECORD_OVERHEAD);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.getInt(position + 4) ? length : -1;
+    }
+
+    // Writes the payload of one event to out
+    static void encode(DataOutputStream out, long sequence, ChangeEvent event) throws IOException {
+        out.writeLong(sequence);
+        out.writeLong(event.getTimestampMillis());
+        out.writeByte(event.getType().ordinal());
+        out.writeInt(event.getEmployeeId());
+        out.writeByte((event.getBefore() != null ? HAS_BEFORE : 0) | (event.getAfter() != null ? HAS_AFTER : 0));
+        if (event.getBefore() != null) {
+            writeEmployee(out, event.getBefore());
+        }
+        if (event.getAfter() != null) {
+            writeEmployee(out, event.getAfter());
+        }
+    }
+
+    static ChangeEvent decode(ByteBuffer segment, int position, int length) {
+        ByteBuffer in = segment.duplicate();
+        in.limit(position + RECORD_OVERHEAD + length).position(position + RECORD_OVERHEAD);
+        long sequence = in.getLong();
+        long timestamp = in.getLong();
+        ChangeEvent.Type type = ChangeEvent.Type.fromCode(in.get());
+        int employeeId = in.getInt();
+        int flags = in.get();
+        Employee before = (flags & HAS_BEFORE) != 0 ? readEmployee(in, employeeId) : null;
+        Employee after = (flags & HAS_AFTER) != 0 ? readEmployee(in, employeeId) : null;
+        return new ChangeEvent(sequence, timestamp, type, employeeId, before, after);
+    }
+
+    private static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        writeString(out, employee.getFirstName());
+        writeString(out, employee.getLastName());
+        writeString(out, employee.getEmail());
+        writeString(out, employee.getPhoneNumber());
+        writeString(out, employee.getJobTitle());
+        out.writeInt((int) employee.getHireDate().toEpochDay());
+        out.writeDouble(employee.getSalary());
+    }
+
+    private static Employee readEmployee(ByteBuffer in, int id) {
+        String firstName = readString(in);
+        String lastName = readString(in);
+        String email = readString(in);
+        String phoneNumber = readString(in);
+        String jobTitle = readString(in);
+        LocalDate hireDate = LocalDate.ofEpochDay(in.getInt());
+        return new Employee(id, firstName, lastName, email, phoneNumber, hireDate, jobTitle, in.getDouble());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int n = utf8.length + 1;
+        while ((n & ~0x7F) != 0) {
+            out.writeByte((n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        out.writeByte(n);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int n = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            n |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        if (n == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[n - 1];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Reusable encode buffer whose bytes can be copied out without toByteArray()
+    static final class Scratch extends ByteArrayOutputStream {
+        final DataOutputStream data = new DataOutputStream(this);
+
+        Scratch(int size) {
+            super(size);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/ems/io/ExportReport.java
+package com.ems.io;
+
+/**
+ * Outcome of an EmployeeExporter run.
+ */
+public class ExportReport {
+
+    private final long rows;
+    private final long bytesWritten;
+    private final long uncompressedBytes;
+    private final long elapsedNanos;
+    private final String failure;
+
+    ExportReport(long rows, long bytesWritten, long uncompressedBytes, long elapsedNanos, String failure) {
+        this.rows = rows;
+        this.bytesWritten = bytesWritten;
+        this.uncompressedBytes = uncompressedBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.failure = failure;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    // Bytes in the output file (after gzip, if enabled)
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // Bytes of CSV/JSON produced before compression
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : uncompressedBytes * 1_000_000_000.0 / elapsedNanos / (1024 * 1024);
+    }
+
+    public boolean isComplete() {
+        return failure == null;
+    }
+
+    // Why the export stopped early, null if it ran to the end
+    public String getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Rows: ").append(rows)
+          .append(", Bytes written: ").append(bytesWritten);
+        if (uncompressedBytes != bytesWritten) {
+            sb.append(" (").append(uncompressedBytes).append(" uncompressed)");
+        }
+        sb.append(", Time: ").append(getElapsedMillis()).append(" ms")
+          .append(String.format(", Throughput: %.0f rows/sec, %.1f MB/sec", getRowsPerSecond(), getMegabytesPerSecond()));
+        if (failure != null) {
+            sb.append("\nExport failed: ").append(failure);
+        }
+        return sb.toString();
+    }
+}
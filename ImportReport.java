@@ -0,0 +1,138 @@
+// src/main/java/com/ems/io/ImportReport.java
+package com.ems.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an EmployeeImporter run.
+ */
+public class ImportReport {
+
+    // Only the first rejects are kept in memory; the count covers all of them
+    public static final int MAX_REJECTS_KEPT = 1000;
+
+    public static class Reject {
+        private final long line;
+        private final String reason;
+
+        Reject(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + reason;
+        }
+    }
+
+    private final List<Reject> rejects = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long resumedAfterLine;
+    private long lastCommittedLine;
+    private long elapsedNanos;
+    private String failure;
+
+    void addRows(long rows) {
+        rowsRead += rows;
+    }
+
+    void addImported(long rows) {
+        imported += rows;
+    }
+
+    void reject(long line, String reason) {
+        rejected++;
+        if (rejects.size() < MAX_REJECTS_KEPT) {
+            rejects.add(new Reject(line, reason));
+        }
+    }
+
+    void setResumedAfterLine(long line) {
+        this.resumedAfterLine = line;
+    }
+
+    void setLastCommittedLine(long line) {
+        this.lastCommittedLine = line;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<Reject> getRejects() {
+        return Collections.unmodifiableList(rejects);
+    }
+
+    // 0 unless the run picked up from a checkpoint
+    public long getResumedAfterLine() {
+        return resumedAfterLine;
+    }
+
+    // Last input line whose chunk was committed; a resumed run starts after it
+    public long getLastCommittedLine() {
+        return lastCommittedLine;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public boolean isComplete() {
+        return failure == null;
+    }
+
+    // Why the import stopped early, null if it ran to the end
+    public String getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Rows read: ").append(rowsRead)
+          .append(", Imported: ").append(imported)
+          .append(", Rejected: ").append(rejected)
+          .append(", Time: ").append(getElapsedMillis()).append(" ms")
+          .append(String.format(", Throughput: %.0f rows/sec", getRowsPerSecond()));
+        if (resumedAfterLine > 0) {
+            sb.append(", Resumed after line ").append(resumedAfterLine);
+        }
+        if (failure != null) {
+            sb.append("\nImport stopped after line ").append(lastCommittedLine).append(": ").append(failure);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,35 @@
+// src/main/java/com/ems/dao/JobTitleDictionary.java
+package com.ems.dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical String instances for job titles. A company has a few dozen distinct titles spread
+ * over every row, so mapped employees share one String per title instead of each holding its
+ * own copy. The dictionary stops growing at MAX_ENTRIES so free-form titles cannot fill the heap;
+ * titles seen after that are returned as they are.
+ */
+final class JobTitleDictionary {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private static final ConcurrentHashMap<String, String> TITLES = new ConcurrentHashMap<>();
+
+    private JobTitleDictionary() {
+    }
+
+    static String canonical(String jobTitle) {
+        if (jobTitle == null) {
+            return null;
+        }
+        String canonical = TITLES.get(jobTitle);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (TITLES.size() >= MAX_ENTRIES) {
+            return jobTitle;
+        }
+        canonical = TITLES.putIfAbsent(jobTitle, jobTitle);
+        return canonical != null ? canonical : jobTitle;
+    }
+}
@@ -0,0 +1,109 @@
+// src/main/java/com/ems/journal/JournalReader.java
+package com.ems.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Cursor over a change journal directory, for replaying it or following it while it is written.
+ *
+ * read() delivers every complete event from the cursor onwards and returns how many it delivered;
+ * calling it again later picks up what was appended since, which is how a tail works. It reads
+ * the segment files directly, so it can run in another process than the ChangeJournal, and it
+ * stops at a torn record instead of failing: that record is either still being written or will
+ * be discarded when the journal is reopened.
+ *
+ * Not thread-safe; use one reader per consumer.
+ */
+public class JournalReader implements AutoCloseable {
+
+    private final Path directory;
+    private long nextSequence;
+    private Path segmentFile;
+    private MappedByteBuffer segment;
+    private int position;
+
+    // Starts at the first event whose sequence is at least fromSequence; 1 reads everything
+    public JournalReader(Path directory, long fromSequence) {
+        this.directory = directory;
+        this.nextSequence = Math.max(1, fromSequence);
+    }
+
+    // Replays every event from fromSequence to the current end of the journal
+    public static long replay(Path directory, long fromSequence, Consumer<ChangeEvent> consumer) throws IOException {
+        try (JournalReader reader = new JournalReader(directory, fromSequence)) {
+            return reader.read(consumer);
+        }
+    }
+
+    public int read(Consumer<ChangeEvent> consumer) throws IOException {
+        int delivered = 0;
+        while (true) {
+            if (segment == null && !openSegment()) {
+                return delivered;
+            }
+            int length;
+            while ((length = EventCodec.probe(segment, position)) > 0) {
+                ChangeEvent event = EventCodec.decode(segment, position, length);
+                position += EventCodec.RECORD_OVERHEAD + length;
+                if (event.getSequence() >= nextSequence) {
+                    nextSequence = event.getSequence() + 1;
+                    consumer.accept(event);
+                    delivered++;
+                }
+            }
+            // A later segment means this one is finished; re-probe once in case the writer
+            // completed a record between our last probe and the rotation
+            Path next = EventCodec.segmentPath(directory, nextSequence);
+            if (next.equals(segmentFile) || !Files.exists(next)) {
+                return delivered;
+            }
+            if (EventCodec.probe(segment, position) > 0) {
+                continue;
+            }
+            segment = null;
+        }
+    }
+
+    // Maps the segment holding nextSequence, if it exists yet
+    private boolean openSegment() throws IOException {
+        List<Path> segments = EventCodec.listSegments(directory);
+        Path found = null;
+        for (Path file : segments) {
+            if (EventCodec.firstSequenceOf(file) <= nextSequence) {
+                found = file;
+            }
+        }
+        if (found == null) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(found, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!EventCodec.hasValidHeader(mapped, EventCodec.firstSequenceOf(found))) {
+                return false; // Still being created
+            }
+            segmentFile = found;
+            segment = mapped;
+            position = EventCodec.HEADER_SIZE;
+            return true;
+        }
+    }
+
+    // Sequence of the next event read() will deliver
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    // Drops the mapping; the next read() maps the segment again
+    @Override
+    public void close() {
+        segment = null;
+        segmentFile = null;
+    }
+}
@@ -0,0 +1,146 @@
+// src/main/java/com/ems/util/Json.java
+package com.ems.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Just enough JSON for flat employee records: one object per line, string/number/boolean/null values.
+ * Nested objects and arrays are rejected.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    // Parses a flat JSON object; numbers and booleans come back as their literal text, null as null
+    public static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> fields = new LinkedHashMap<>();
+        p.skipWhitespace();
+        p.expect('{');
+        p.skipWhitespace();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipWhitespace();
+                String key = p.readString();
+                p.skipWhitespace();
+                p.expect(':');
+                p.skipWhitespace();
+                fields.put(key, p.readValue());
+                p.skipWhitespace();
+                char c = p.next();
+                if (c == '}') break;
+                if (c != ',') throw p.error("Expected ',' or '}'");
+            }
+        }
+        p.skipWhitespace();
+        if (p.pos != text.length()) {
+            throw p.error("Unexpected trailing characters");
+        }
+        return fields;
+    }
+
+    // Appends value as a quoted, escaped JSON string (or null)
+    public static StringBuilder appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    private static class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            if (pos >= text.length()) throw error("Unexpected end of input");
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char expected) {
+            if (next() != expected) throw error("Expected '" + expected + "'");
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        String readValue() {
+            char c = peek();
+            if (c == '"') return readString();
+            if (c == '{' || c == '[') throw error("Nested values are not supported");
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) pos++;
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) throw error("Missing value");
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw error("Bad unicode escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Bad unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("Bad escape '\\" + e + "'");
+                }
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid JSON: " + message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+// src/main/java/com/ems/util/LatencyHistogram.java
+package com.ems.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: exact below 64 ns, then
+ * 32 sub-buckets per power of two, so any recorded value is reported within ~3%.
+ * Recording is a few atomic increments and never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;            // 32
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;                 // 64: values below are exact
+    private static final int FIRST_EXPONENT = SUB_BUCKET_BITS + 1;           // 6
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), capped at the recorded max
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + FIRST_EXPONENT;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
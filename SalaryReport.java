@@ -0,0 +1,52 @@
+// src/main/java/com/ems/dao/SalaryReport.java
+package com.ems.dao;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Workforce salary report: overall figures plus breakdowns by job title and by hire year.
+ */
+public class SalaryReport {
+
+    private final SalaryStats overall;
+    private final Map<String, SalaryStats> byJobTitle;
+    private final Map<Integer, SalaryStats> byHireYear;
+
+    SalaryReport(SalaryStats overall, LinkedHashMap<String, SalaryStats> byJobTitle,
+                 LinkedHashMap<Integer, SalaryStats> byHireYear) {
+        this.overall = overall;
+        this.byJobTitle = Collections.unmodifiableMap(byJobTitle);
+        this.byHireYear = Collections.unmodifiableMap(byHireYear);
+    }
+
+    public SalaryStats getOverall() {
+        return overall;
+    }
+
+    // Ordered by job title
+    public Map<String, SalaryStats> getByJobTitle() {
+        return byJobTitle;
+    }
+
+    // Ordered by year
+    public Map<Integer, SalaryStats> getByHireYear() {
+        return byHireYear;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(overall).append('\n');
+        sb.append("\nBy Job Title:\n");
+        for (SalaryStats stats : byJobTitle.values()) {
+            sb.append(stats).append('\n');
+        }
+        sb.append("\nBy Hire Year:\n");
+        for (SalaryStats stats : byHireYear.values()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,97 @@
+// src/main/java/com/ems/dao/SalaryStats.java
+package com.ems.dao;
+
+import java.util.Arrays;
+
+/**
+ * Headcount and salary distribution for one group of employees
+ * (a job title, a hire year, or the whole workforce).
+ */
+public class SalaryStats {
+
+    // Percentiles computed for every group
+    public static final int[] PERCENTILES = {10, 25, 50, 75, 90, 99};
+
+    private final String group;
+    private final int count;
+    private final double total;
+    private final double average;
+    private final double min;
+    private final double max;
+    private final double[] percentiles = new double[PERCENTILES.length];
+
+    SalaryStats(String group, int count, double total, double average, double min, double max) {
+        this.group = group;
+        this.count = count;
+        this.total = total;
+        this.average = average;
+        this.min = min;
+        this.max = max;
+        Arrays.fill(percentiles, Double.NaN);
+    }
+
+    // Fills the percentiles from the first n entries of an ascending-sorted array
+    void computePercentiles(double[] sorted, int n) {
+        if (n == 0) {
+            return;
+        }
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            // Linear interpolation between closest ranks
+            double rank = PERCENTILES[i] / 100.0 * (n - 1);
+            int lower = (int) rank;
+            int upper = Math.min(lower + 1, n - 1);
+            percentiles[i] = sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+        }
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    // One of PERCENTILES
+    public double getPercentile(int percentile) {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i] == percentile) {
+                return percentiles[i];
+            }
+        }
+        throw new IllegalArgumentException("Percentile not computed: " + percentile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %6d  total $%,.2f  avg $%,.2f  min $%,.2f  max $%,.2f  median $%,.2f",
+                                group, count, total, average, min, max, getMedian()));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i] != 50) {
+                sb.append(String.format("  p%d $%,.2f", PERCENTILES[i], percentiles[i]));
+            }
+        }
+        return sb.toString();
+    }
+}
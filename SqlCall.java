@@ -0,0 +1,11 @@
+// src/main/java/com/ems/dao/SqlCall.java
+package com.ems.dao;
+
+import java.sql.SQLException;
+
+// A call to one of EmployeeDAO's package-private cores, for the facades that report its
+// SQLException as a DataAccessException
+@FunctionalInterface
+interface SqlCall<T> {
+    T call() throws SQLException;
+}
@@ -0,0 +1,108 @@
+// src/jmh/java/com/ems/bench/StartupBenchmark.java
+package com.ems.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time of a whole cron-style run, "ems -c count", from launching the JVM to its exit,
+ * against a database whose schema is already current. Each invocation starts a fresh JVM with
+ * this benchmark's classpath:
+ *
+ *   nocds   -Xshare:off, every class loaded and verified from its jar
+ *   default the JDK's own class data sharing archive (JDK classes only)
+ *   appcds  an archive of the JDK, application and driver classes this command loads, dumped by
+ *           a training run with -XX:ArchiveClassesAtExit (JDK 13+; see the appcds profile in
+ *           pom.xml). Only classes loaded from jars are archived, so run this from benchmarks.jar.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"nocds", "default", "appcds"})
+    public String classDataSharing;
+
+    private BenchmarkDatabase database;
+    private Path archive;
+    private List<String> command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        database = BenchmarkDatabase.create(1_000);
+        archive = Files.createTempFile("ems-startup", ".jsa");
+        Files.delete(archive); // The JVM refuses to overwrite a file that is not an archive
+        switch (classDataSharing) {
+            case "nocds":
+                command = command("-Xshare:off");
+                break;
+            case "default":
+                command = command("-Xshare:auto");
+                break;
+            case "appcds":
+                run(command("-XX:ArchiveClassesAtExit=" + archive));
+                command = command("-XX:SharedArchiveFile=" + archive);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown classDataSharing: " + classDataSharing);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archive);
+        database.close();
+    }
+
+    @Benchmark
+    public int count() throws IOException, InterruptedException {
+        return run(command);
+    }
+
+    private static List<String> command(String sharingOption) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add(sharingOption);
+        command.add("-Dems.db.url=" + System.getProperty("ems.db.url")); // Set by BenchmarkDatabase
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.ems.main.EmployeeManagementSystem");
+        command.add("-c");
+        command.add("count");
+        return command;
+    }
+
+    private static int run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IllegalStateException("ems exited with status " + status + ": " + command);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,179 @@
+// src/main/java/com/ems/util/StatementCache.java
+package com.ems.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Idle prepared statements of one pooled connection, keyed by SQL text and generated-keys mode,
+ * so SQLite parses and plans each statement once per connection instead of once per call.
+ *
+ * Statements handed out are proxies: close() clears the parameters and batch and parks the
+ * statement here for the next prepareStatement() with the same key. The least recently used
+ * statement is closed once more than maxSize are parked. Only used by the thread that has
+ * borrowed the connection, so it needs no locking.
+ */
+final class StatementCache {
+
+    private final Connection raw;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LinkedHashMap<Key, PreparedStatement> idle;
+    private boolean closed;
+
+    StatementCache(Connection raw, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.raw = raw;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement statement = idle.remove(key);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = raw.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return wrap(owner, key, statement);
+    }
+
+    private void release(Key key, PreparedStatement statement) {
+        if (closed || !reset(statement)) {
+            closeQuietly(statement);
+            return;
+        }
+        // The same SQL may have been prepared twice while both were checked out; keep one
+        PreparedStatement previous = idle.put(key, statement);
+        if (previous != null) {
+            closeQuietly(previous);
+        }
+        if (idle.size() > maxSize) {
+            Iterator<PreparedStatement> eldest = idle.values().iterator();
+            closeQuietly(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static boolean reset(PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return false;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Called when the connection is retired, before it is closed
+    void close() {
+        closed = true;
+        for (PreparedStatement statement : idle.values()) {
+            closeQuietly(statement);
+        }
+        idle.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    // --- PROXY ---
+    private PreparedStatement wrap(Connection owner, Key key, PreparedStatement statement) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(owner, key, statement));
+    }
+
+    private class CachedStatementHandler implements InvocationHandler {
+        private final Connection owner;
+        private final Key key;
+        private final PreparedStatement statement;
+        private boolean returned;
+
+        CachedStatementHandler(Connection owner, Key key, PreparedStatement statement) {
+            this.owner = owner;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(key, statement);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.isClosed();
+                case "getConnection":
+                    return owner; // The pooled proxy, never the raw connection
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + statement + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+}
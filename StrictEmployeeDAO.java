@@ -0,0 +1,98 @@
+// src/main/java/com/ems/dao/StrictEmployeeDAO.java
+package com.ems.dao;
+
+import com.ems.model.Employee;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Synchronous facade over an EmployeeDAO (including CachingEmployeeDAO) for callers that must
+ * tell a database failure from an empty answer, such as batch mode and the HTTP server.
+ *
+ * Each method runs the DAO's package-private core on the calling thread and throws the same
+ * DataAccessException (DuplicateEmailException, TransientDataAccessException, ...) that
+ * AsyncEmployeeDAO would complete its future with, where the EmployeeDAO method of the same name
+ * prints the error and returns false, null, 0 or an empty list. A missing row is not an error:
+ * it comes back as Optional.empty(), false or UpdateResult.NOT_FOUND.
+ */
+public class StrictEmployeeDAO {
+
+    private final EmployeeDAO dao;
+
+    public StrictEmployeeDAO(EmployeeDAO dao) {
+        this.dao = dao;
+    }
+
+    // --- CREATE ---
+    public boolean addEmployee(Employee employee) {
+        return call("addEmployee", () -> dao.insertEmployee(employee));
+    }
+
+    // --- READ ---
+    public Optional<Employee> getEmployeeById(int id) {
+        return call("getEmployeeById", () -> Optional.ofNullable(dao.selectEmployeeById(id)));
+    }
+
+    // Already throws DataAccessException, also for a row that fails part way through
+    public Stream<Employee> streamAllEmployees() {
+        return dao.streamAllEmployees();
+    }
+
+    // Keyset page, see EmployeeDAO.getEmployeesPage. A failure is never a short or empty page,
+    // which a client would take for the end of the data.
+    public List<Employee> getEmployeesPage(int afterId, int limit) {
+        return call("getEmployeesPage", () -> dao.selectEmployeesPage(afterId, limit));
+    }
+
+    public List<Employee> searchEmployees(String query, int limit) {
+        return call("searchEmployees", () -> dao.selectSearch(query, limit));
+    }
+
+    public int getEmployeeCount() {
+        return call("getEmployeeCount", dao::countEmployees);
+    }
+
+    // --- UPDATE / DELETE ---
+    // See EmployeeDAO.updateEmployeeChanges; NOT_FOUND and CONFLICT are results, not exceptions
+    public UpdateResult updateEmployee(Employee employee) {
+        return call("updateEmployee", () -> dao.updateEmployeeRow(employee));
+    }
+
+    public boolean deleteEmployee(int id) {
+        return call("deleteEmployee", () -> dao.deleteEmployeeRow(id));
+    }
+
+    // --- SET-BASED ---
+    // See EmployeeDAO.adjustSalariesByPercent and the methods after it
+    public BulkResult adjustSalariesByPercent(EmployeeCriteria criteria, double percent, boolean returnRows) {
+        return call("adjustSalaries", () -> dao.updateSalaries(criteria, 1 + percent / 100, 0, returnRows));
+    }
+
+    public BulkResult adjustSalariesByAmount(EmployeeCriteria criteria, double amount, boolean returnRows) {
+        return call("adjustSalaries", () -> dao.updateSalaries(criteria, 1, amount, returnRows));
+    }
+
+    public BulkResult reassignJobTitle(String from, String to, boolean returnRows) {
+        return call("reassignJobTitle", () -> dao.updateJobTitle(from, to, returnRows));
+    }
+
+    public BulkResult deleteEmployees(EmployeeCriteria criteria, boolean returnRows) {
+        return call("deleteEmployees", () -> dao.deleteWhere(criteria, returnRows));
+    }
+
+    // --- Reporting ---
+    public SalaryReport getSalaryReport() {
+        return call("getSalaryReport", dao::selectSalaryReport);
+    }
+
+    private static <T> T call(String operation, SqlCall<T> work) {
+        try {
+            return work.call();
+        } catch (SQLException e) {
+            throw DataAccessException.translate(operation, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/ems/dao/TransientDataAccessException.java
+package com.ems.dao;
+
+import java.sql.SQLException;
+
+/**
+ * The database was busy or locked, or no pooled connection became free in time.
+ * The same operation may succeed if retried.
+ */
+public class TransientDataAccessException extends DataAccessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransientDataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
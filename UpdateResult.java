@@ -0,0 +1,17 @@
+// src/main/java/com/ems/dao/UpdateResult.java
+package com.ems.dao;
+
+/**
+ * Outcome of EmployeeDAO.updateEmployeeChanges. Database errors are thrown or reported as
+ * before; these are the answers a well-formed update can get.
+ */
+public enum UpdateResult {
+    UPDATED,   // Changed fields written; the Employee now carries the row's new version
+    UNCHANGED, // No field had changed, so nothing was written
+    NOT_FOUND, // No employee has that ID
+    CONFLICT;  // The row was changed by someone else since this Employee's version was read
+
+    public boolean isSuccess() {
+        return this == UPDATED || this == UNCHANGED;
+    }
+}